@@ -0,0 +1,125 @@
+package main;
+
+import model.*;
+import util.CompiledFilter;
+import util.Filter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+* Benchmark for matching applications against a report filter:
+* {@link Application#matches(CompiledFilter)} (flat type and marital status compared as
+* pre-lowered keys) against the same checks with {@code equalsIgnoreCase} on every row.
+* <p>
+* The filter sets a flat type, a marital status, an age range and two projects, as a manager's
+* booking report does, in a different letter case from the stored values. Each size is measured
+* several times after a warm-up of at least two seconds, and the median cost per application is reported.
+* <p>
+* Run with: {@code java -cp "bin:lib/*" main.ApplicationFilterBenchmark [repetitions]}
+*
+* @author Javier
+* @version 1.0
+*/
+public class ApplicationFilterBenchmark {
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final int MIN_WARMUP_RUNS = 3;
+    private static final long WARMUP_NS = 2_000_000_000L; // long enough for the JIT to finish compiling the matching path
+
+    private static volatile int sink; // keeps matches from being optimized away
+
+    public static void main(String[] args) {
+        int repetitions = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+
+        Filter filter = new Filter();
+        filter.setFlatType("3-ROOM");
+        filter.setMaritalStatus("married");
+        filter.setMinAge(30);
+        filter.setMaxAge(50);
+        filter.setProjectName(Set.of("project 3", "PROJECT 17"));
+        CompiledFilter compiled = CompiledFilter.compile(filter);
+
+        System.out.printf("%-12s %18s %18s %10s%n", "applications", "ignoreCase ns/app", "keys ns/app", "speed-up");
+        for (int n : SIZES) {
+            List<Application> applications = load(n);
+            double legacy = median(repetitions, () -> sink = countLegacy(applications, compiled));
+            int legacyCount = sink;
+            double keys = median(repetitions, () -> sink = countKeys(applications, compiled));
+            if (sink != legacyCount) throw new IllegalStateException("Matchers disagree: " + legacyCount + " vs " + sink);
+            System.out.printf("%-12d %18.1f %18.1f %9.2fx%n", n, legacy / n, keys / n, legacy / keys);
+        }
+    }
+
+    private static int countLegacy(List<Application> applications, CompiledFilter filter) {
+        int count = 0;
+        for (Application a : applications) if (legacyMatches(a, filter)) count++;
+        return count;
+    }
+
+    private static int countKeys(List<Application> applications, CompiledFilter filter) {
+        int count = 0;
+        for (Application a : applications) if (a.matches(filter)) count++;
+        return count;
+    }
+
+    /**
+    * Creates n applications over 40 projects, with mixed flat types, marital statuses and ages.
+    *
+    * @return The applications.
+    */
+    private static List<Application> load(int n) {
+        LocalDate today = LocalDate.now();
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            projects.add(new Project("Project " + i, "Town", today.minusDays(5), today.plusDays(30), true, 10, "Manager"));
+        }
+
+        Random random = new Random(17);
+        List<Application> applications = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            boolean married = random.nextInt(4) != 0;
+            Applicant applicant = new Applicant("Applicant" + i, String.format("S%07dA", i), "password",
+                21 + random.nextInt(45), married ? "Married" : "Single");
+            String flatType = married && random.nextBoolean() ? "3-Room" : "2-Room";
+            applications.add(new Application(applicant, projects.get(random.nextInt(40)), flatType));
+        }
+        return applications;
+    }
+
+    /**
+    * The matcher as it was before the keys: case-insensitive comparisons of the stored
+    * flat type and marital status on every call.
+    */
+    private static boolean legacyMatches(Application a, CompiledFilter filter) {
+        if (filter.getStatuses() != null && !filter.getStatuses().contains(a.getStatus())) return false;
+        if (filter.getFlatType() != null && !a.getFlatType().equalsIgnoreCase(filter.getFlatType())) return false;
+        if (filter.getMaritalStatus() != null &&
+            !a.getApplicant().getMaritalStatus().equalsIgnoreCase(filter.getMaritalStatus())) return false;
+        if (filter.hasAge() && !filter.ageInRange(a.getApplicant().getAge())) return false;
+        return filter.getProjectNames() == null
+            || filter.getProjectNames().contains(CompiledFilter.lower(a.getProject().getName()));
+    }
+
+    /**
+    * Runs a task after a warm-up and returns the median of the measured runs.
+    *
+    * @return The median run time in nanoseconds.
+    */
+    private static double median(int repetitions, Runnable task) {
+        long warmUntil = System.nanoTime() + WARMUP_NS;
+        for (int i = 0; i < MIN_WARMUP_RUNS || System.nanoTime() < warmUntil; i++) task.run();
+
+        long[] times = new long[repetitions];
+        for (int i = 0; i < repetitions; i++) {
+            long start = System.nanoTime();
+            task.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[repetitions / 2];
+    }
+}
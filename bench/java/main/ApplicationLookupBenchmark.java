@@ -0,0 +1,117 @@
+package main;
+
+import model.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+* Benchmark for point lookups of an applicant's application to a project:
+* {@link ApplicationRegistry#getApplicationByNricAndProject} (canonical NRIC key and
+* (NRIC, project) index) against the scan over every applicant it replaced.
+* <p>
+* Lookups use NRICs and project names in mixed case, as users type them. Each size is
+* measured several times after a warm-up of at least half a second, and the median cost per lookup is reported.
+* <p>
+* Run with: {@code java -cp "bin:lib/*" main.ApplicationLookupBenchmark [repetitions]}
+*
+* @author Javier
+* @version 1.0
+*/
+public class ApplicationLookupBenchmark {
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    private static final int LOOKUPS = 500;
+    private static final int MIN_WARMUP_RUNS = 3;
+    private static final long WARMUP_NS = 500_000_000L; // long enough for the JIT to compile the lookup path
+
+    private static volatile Object sink; // keeps lookups from being optimized away
+
+    public static void main(String[] args) {
+        int repetitions = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+
+        System.out.printf("%-10s %16s %16s %10s%n", "applicants", "scan ns/lookup", "index ns/lookup", "speed-up");
+        for (int n : SIZES) {
+            String[][] queries = load(n);
+            double scan = median(repetitions, () -> {
+                for (String[] q : queries) sink = legacyLookup(q[0], q[1]);
+            });
+            double index = median(repetitions, () -> {
+                for (String[] q : queries) sink = ApplicationRegistry.getApplicationByNricAndProject(q[0], q[1]);
+            });
+            System.out.printf("%-10d %16.0f %16.0f %9.0fx%n", n, scan / LOOKUPS, index / LOOKUPS, scan / index);
+        }
+    }
+
+    /**
+    * Loads n applicants with two applications each (40 projects), and picks the lookups.
+    *
+    * @return The lookups, as {NRIC, project name} pairs in mixed case.
+    */
+    private static String[][] load(int n) {
+        LocalDate today = LocalDate.now();
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            projects.add(new Project("Project " + i, "Town", today.minusDays(5), today.plusDays(30), true, 10, "Manager"));
+        }
+        ProjectRegistry.loadProjects(projects);
+
+        List<Application> applications = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Applicant applicant = new Applicant("Applicant" + i, String.format("S%07dA", i), "password", 36, "Married");
+            applications.add(new Application(applicant, projects.get(i % 40), "3-Room"));
+            applications.add(new Application(applicant, projects.get((i + 7) % 40), "2-Room"));
+        }
+        ApplicationRegistry.loadApplications(applications);
+
+        Random random = new Random(42);
+        String[][] queries = new String[LOOKUPS][];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int applicant = random.nextInt(n);
+            queries[i] = new String[] {
+                String.format("s%07da", applicant),
+                "PROJECT " + ((applicant + 7) % 40)
+            };
+        }
+        return queries;
+    }
+
+    /**
+    * The lookup as it was before the index: a case-insensitive scan over every applicant,
+    * then over that applicant's applications.
+    */
+    private static Application legacyLookup(String nric, String projectName) {
+        List<Application> apps = ApplicationRegistry.getAllApplications().entrySet().stream()
+            .filter(entry -> entry.getKey().equalsIgnoreCase(nric))
+            .map(Map.Entry::getValue)
+            .findFirst().orElse(null);
+        if (apps == null) return null;
+
+        for (Application application : apps) {
+            if (application.getProject().getName().equalsIgnoreCase(projectName)) return application;
+        }
+        return null;
+    }
+
+    /**
+    * Runs a task after a warm-up and returns the median of the measured runs.
+    *
+    * @return The median run time in nanoseconds.
+    */
+    private static double median(int repetitions, Runnable task) {
+        long warmUntil = System.nanoTime() + WARMUP_NS;
+        for (int i = 0; i < MIN_WARMUP_RUNS || System.nanoTime() < warmUntil; i++) task.run();
+
+        long[] times = new long[repetitions];
+        for (int i = 0; i < repetitions; i++) {
+            long start = System.nanoTime();
+            task.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[repetitions / 2];
+    }
+}
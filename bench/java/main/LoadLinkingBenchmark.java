@@ -0,0 +1,164 @@
+package main;
+
+import controller.AuthController;
+import model.*;
+import util.ExcelReader;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+* Benchmark for the loading stage that fills the registries and links users to projects
+* ({@link MainApp#populate}), on synthetic data of growing size.
+* <p>
+* Each size is run several times after a warm-up, on freshly generated data every time,
+* and the median is reported together with the cost per loaded entity. A flat per-entity
+* cost as the size doubles shows linear scaling. The nested-loop linking that
+* {@code loadData} used before is timed alongside, on the smaller sizes, for comparison.
+* <p>
+* Run with: {@code java -cp "bin:lib/*" main.LoadLinkingBenchmark [repetitions]}
+*
+* @author Javier
+* @version 1.0
+*/
+public class LoadLinkingBenchmark {
+    private static final int[] SIZES = {10_000, 20_000, 40_000, 80_000};
+    private static final int LEGACY_MAX_SIZE = 20_000; // the nested loops take minutes beyond this
+    private static final int WARMUP = 3;
+
+    public static void main(String[] args) {
+        int repetitions = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+        measure(SIZES[2], WARMUP, false); // let the JIT compile the whole path before the first row
+
+        System.out.printf("%-8s %-10s %12s %12s %14s %14s%n", "n", "entities", "median ms", "min ms", "ns/entity", "legacy ms");
+        for (int n : SIZES) {
+            long[] times = measure(n, repetitions, false);
+            long entities = entityCount(n);
+            long median = times[times.length / 2];
+            String legacy = n <= LEGACY_MAX_SIZE ? String.format("%.1f", measure(n, 1, true)[0] / 1e6) : "-";
+            System.out.printf("%-8d %-10d %12.1f %12.1f %14.0f %14s%n",
+                n, entities, median / 1e6, times[0] / 1e6, (double) median / entities, legacy);
+        }
+    }
+
+    /**
+    * Times the loading stage on freshly generated data.
+    *
+    * @param n The number of projects, officers, applicants and applications.
+    * @param repetitions The number of measured runs, after the warm-up.
+    * @param legacy True to time the old nested-loop linking instead.
+    * @return The measured run times in nanoseconds, sorted ascending.
+    */
+    private static long[] measure(int n, int repetitions, boolean legacy) {
+        long[] times = new long[repetitions];
+        for (int run = -(legacy ? 0 : WARMUP); run < repetitions; run++) {
+            ExcelReader.ExcelData data = generate(n);
+            AuthController auth = new AuthController();
+            System.gc();
+
+            long start = System.nanoTime();
+            if (legacy) legacyPopulate(auth, data);
+            else MainApp.populate(auth, data);
+            long elapsed = System.nanoTime() - start;
+
+            if (run >= 0) times[run] = elapsed;
+        }
+        Arrays.sort(times);
+        return times;
+    }
+
+    private static long entityCount(int n) {
+        return 4L * n + n / 10; // projects, officers, applicants, applications and managers
+    }
+
+    /**
+    * Generates n projects (two officers listed on each), n officers, n/10 managers, and n applicants
+    * with one application each. Windows are spread around today, so some are open, some upcoming
+    * and some closed.
+    */
+    private static ExcelReader.ExcelData generate(int n) {
+        LocalDate today = LocalDate.now();
+        int managerCount = Math.max(1, n / 10);
+
+        List<HDBManager> managers = new ArrayList<>();
+        for (int i = 0; i < managerCount; i++) {
+            managers.add(new HDBManager("Manager" + i, String.format("S%07dM", i), "password", 40, "Married"));
+        }
+
+        List<HDBOfficer> officers = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            officers.add(new HDBOfficer("Officer" + i, String.format("T%07dO", i), "password", 30, "Married"));
+        }
+
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            LocalDate open = today.plusDays(i % 90 - 60);
+            Project project = new Project("Project" + i, "Town" + (i % 25), open, open.plusDays(30), true, 10, "Manager" + (i % managerCount));
+            project.addFlatType("2-Room", 50, 100_000);
+            project.addFlatType("3-Room", 50, 200_000);
+            project.addOfficer("Officer" + i);
+            project.addOfficer("Officer" + (i + 1) % n);
+            projects.add(project);
+        }
+
+        List<Applicant> applicants = new ArrayList<>();
+        List<Application> applications = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Applicant applicant = new Applicant("Applicant" + i, String.format("S%07dA", i), "password", 36, "Married");
+            applicants.add(applicant);
+            applications.add(new Application(applicant, projects.get(i), "3-Room"));
+        }
+
+        return new ExcelReader.ExcelData(applicants, officers, managers, projects, applications, new ArrayList<>());
+    }
+
+    /**
+    * The linking stage as {@code loadData} performed it before it was indexed:
+    * managers x projects, then projects x officers.
+    */
+    private static void legacyPopulate(AuthController authController, ExcelReader.ExcelData data) {
+        ProjectRegistry.loadProjects(data.projects);
+        EnquiryRegistry.loadEnquiries(data.enquiries);
+        ApplicationRegistry.loadApplications(data.applications);
+
+        for (HDBManager manager : data.managers) {
+            authController.addUser(manager);
+            Project selectedProject = null;
+            LocalDate today = LocalDate.now();
+            LocalDate earliestFutureDate = LocalDate.MAX;
+
+            for (Project project : data.projects) {
+                if (!project.getManagerName().equalsIgnoreCase(manager.getName())) continue;
+                manager.addManagedProject(project.getName());
+
+                LocalDate openDate = project.getOpenDate();
+                LocalDate closeDate = project.getCloseDate();
+                if (!openDate.isAfter(today) && !closeDate.isBefore(today)) {
+                    selectedProject = project;
+                    break;
+                }
+                if (openDate.isAfter(today) && openDate.isBefore(earliestFutureDate)) {
+                    selectedProject = project;
+                    earliestFutureDate = openDate;
+                }
+            }
+            if (selectedProject != null) manager.assignToProject(selectedProject.getName());
+        }
+
+        for (Project project : data.projects) {
+            if (project.getCloseDate().isBefore(LocalDate.now())) project.setVisibility(false);
+
+            for (HDBOfficer officer : data.officers) {
+                authController.addUser(officer);
+                if (project.getOfficerList().contains(officer.getName())) {
+                    officer.assignToProject(project.getName());
+                    officer.setRegistrationStatus(project.getName(), HDBOfficer.RegistrationStatus.APPROVED);
+                }
+            }
+        }
+
+        for (Applicant a : data.applicants) authController.addUser(a);
+    }
+}
@@ -23,13 +23,14 @@ public class ApplicationController {
     /**
     * Retrieves all visible and open projects the applicant is eligible to apply for,
     * taking into account age and marital status.
+    * Open projects come from {@link VisibilityScheduler}, which tracks windows as they open and close.
     *
     * @param applicant The applicant to check eligibility for.
     * @return List of available projects the applicant can apply to.
     */
     public List<Project> getAllAvailableProjects(Applicant applicant) {
-        List<Project> projects = ProjectRegistry.filterByVisibility(true).stream()
-            .filter(project -> !LocalDate.now().isAfter(project.getCloseDate()))
+        List<Project> projects = VisibilityScheduler.getOpenProjects().stream()
+            .filter(Project::isVisible)
             .toList();
 
         if (applicant.getMaritalStatus().equalsIgnoreCase("single")) {
@@ -45,6 +46,19 @@ public class ApplicationController {
 
         return projects;
     }
+
+    /**
+    * Applies filters to the projects an applicant is eligible for.
+    * Results are cached per applicant and day until a project or application changes.
+    *
+    * @param applicant The applicant viewing the projects.
+    * @param filter The filter criteria; null returns every eligible project.
+    * @return Filtered list of eligible projects.
+    */
+    public List<Project> getFilteredAvailableProjects(Applicant applicant, Filter filter) {
+        String scope = "available|" + applicant.getNric().toUpperCase() + "|" + LocalDate.now();
+        return ResultCache.get(scope, filter, () -> FilterUtil.applyFilter(getAllAvailableProjects(applicant), filter));
+    }
     
     /**
     * Submits an application for a given project and flat type.
@@ -105,7 +119,11 @@ public class ApplicationController {
 
         // need to update this portion
         Application application = new Application(applicant, project, flatType);
-        ApplicationRegistry.addApplication(applicant.getNric(), application);
+        if (!ApplicationRegistry.addApplicationIfNoneActive(applicant.getNric(), application)) { // submitted meanwhile in another session
+            System.out.println("You already have an active application. Withdraw or wait for rejection to reapply.");
+            return false;
+        }
+        Journal.recordApplication(application);
 
         return true;
     }
@@ -187,6 +205,7 @@ public class ApplicationController {
         }
     
         application.setWithdrawalRequested(true);
+        Journal.recordApplication(application);
         System.out.println("Withdrawal request submitted. Waiting for manager approval.");
         return true;
     }
@@ -240,14 +259,24 @@ public class ApplicationController {
         if (status == Application.Status.SUCCESSFUL) {
             String flatType = application.getFlatType();
             FlatType ft = application.getProject().getFlatType(flatType);
-            if (ft == null || ft.getRemainingUnits() <= 0) {
+            if (ft == null || !application.reserveUnit(ft)) { // hold a unit so approvals can never exceed the units left
                 System.out.println("No units left for this flat type.");
-                application.setStatus(Application.Status.UNSUCCESSFUL); // auto set to reject if no more units left
+                if (application.transition(Application.Status.PENDING, Application.Status.UNSUCCESSFUL)) { // auto set to reject if no more units left
+                    Journal.recordApplication(application);
+                }
                 return;
             }
+            if (!application.transition(Application.Status.PENDING, status)) {
+                application.releaseUnit(ft); // processed by someone else in the meantime
+                System.out.println("Only pending applications can be processed");
+                return;
+            }
+        } else if (!application.transition(Application.Status.PENDING, status)) {
+            System.out.println("Only pending applications can be processed");
+            return;
         }
 
-        application.setStatus(status);
+        Journal.recordApplication(application);
         System.out.println("Application for NRIC: " + nric + " in project: " + projectName + " has been " + status);
     } 
 
@@ -278,18 +307,25 @@ public class ApplicationController {
             return false;
         }
     
-        // If BOOKED, return the flat unit
-        if (app.getStatus() == Application.Status.BOOKED) {
-            String flatType = app.getFlatType();
-            Project project = app.getProject();
-            FlatType ft = project.getFlatTypes().get(flatType);
-            if (ft != null) {
+        Application.Status previous = app.getStatus();
+        if (!app.transition(previous, Application.Status.WITHDRAWN)) {
+            System.out.println("The application was updated by someone else. Please try again.");
+            return false;
+        }
+
+        // Return the flat unit: booked units go back to the pool, reserved ones are released
+        FlatType ft = app.getProject().getFlatTypes().get(app.getFlatType());
+        if (ft != null) {
+            if (previous == Application.Status.BOOKED) {
                 ft.cancelBooking();
+            } else if (previous == Application.Status.SUCCESSFUL) {
+                app.releaseUnit(ft);
             }
         }
     
-        app.setStatus(Application.Status.WITHDRAWN);
         app.setWithdrawalRequested(false); // clear the request
+        Journal.recordApplication(app);
+        Journal.recordProject(app.getProject());
         System.out.println("Application withdrawn successfully.");
         return true;
     }
@@ -322,23 +358,20 @@ public class ApplicationController {
         }
     
         app.setWithdrawalRequested(false); // clear the request
+        Journal.recordApplication(app);
         System.out.println("Withdrawal request rejected.");
         return true;
     }
 
     /**
-    * Applies filters to all applications and returns the matching list.
+    * Applies filters to all applications and returns a cursor that is read a page at a time,
+    * sorted by applicant name. Only the applications on the pages actually read are looked up.
     *
     * @param filter The filter criteria.
-    * @return Filtered list of applications.
+    * @return A cursor over the filtered applications.
     */
-    public List<Application> getFilteredApplications(Filter filter) {
-        List<Application> allApps = ApplicationRegistry.getAllApplications()
-        .values().stream()
-        .flatMap(List::stream)
-        .toList();
-
-        return FilterUtil.applyFilter(allApps, filter);
+    public QueryCursor<Application> getFilteredApplicationCursor(Filter filter) {
+        return ApplicationBitmapIndex.cursor(filter);
     }
 
     /**
@@ -361,8 +394,10 @@ public class ApplicationController {
     * @return List of pending applications.
     */
     public List<Application> getPendingApplicationsByManager(HDBManager manager) {
-        return getApplicationsByManager(manager).stream()
-            .filter(app -> app.getStatus() == Application.Status.PENDING)
+        return manager.getManagedProjects().stream()
+            .map(ProjectRegistry::getProjectByName)
+            .filter(Objects::nonNull)
+            .flatMap(project -> ApplicationRegistry.getApplicationsByProjectAndStatus(project.getName(), Application.Status.PENDING).stream())
             .toList();
     }
 
@@ -393,12 +428,30 @@ public class ApplicationController {
             return false;
         }
 
-        // Update application status to booked
-        application.setStatus(Application.Status.BOOKED);
+        Project project = application.getProject();
+        FlatType ft = project.getFlatType(application.getFlatType());
+        if (ft == null) {
+            System.out.println("Flat type does not exist in this project.");
+            return false;
+        }
+
+        // Update application status to booked; fails if another session got there first
+        if (!application.transition(Application.Status.SUCCESSFUL, Application.Status.BOOKED)) {
+            System.out.println("No successful application found for this applicant in your project.");
+            return false;
+        }
 
-        // Update project flat availability
-        Project project = ProjectRegistry.getProjectByName(officer.getAssignedProject());
-        project.getFlatType(application.getFlatType()).bookUnit();
+        // Turn the unit this application reserved at approval into a booking. An application that holds
+        // no reservation (e.g. marked successful outside an approval) may only take a unit nobody reserved
+        boolean booked = application.hasReservedUnit() ? application.confirmUnit(ft) : ft.bookUnit();
+        if (!booked) {
+            application.transition(Application.Status.BOOKED, Application.Status.SUCCESSFUL);
+            System.out.println("Error: no unit can be booked for this application (" + ft.getReservedUnits()
+                + " reserved, " + ft.getRemainingUnits() + " remaining). The flat was not assigned.");
+            return false;
+        }
+        Journal.recordApplication(application);
+        Journal.recordProject(project);
 
         System.out.println("Flat assigned successfully.");
         return true;
@@ -1,7 +1,8 @@
 package controller;
 
 import model.User;
-import util.ExcelWriter;
+import util.Journal;
+import util.PasswordWriter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -65,7 +66,8 @@ public class AuthController {
         }
 
         user.changePassword(newPassword);
-        ExcelWriter.updateUserPassword(user, newPassword);
+        Journal.recordPassword(user);
+        PasswordWriter.enqueue(user); // written to Excel in the background
         System.out.println("Password changed successfully.");
         return true;
     }
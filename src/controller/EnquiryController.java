@@ -1,6 +1,7 @@
 package controller;
 
 import model.*;
+import util.Journal;
 
 import java.util.List;
 
@@ -22,6 +23,7 @@ public class EnquiryController {
     public void submitEnquiry(String senderNRIC, String projectName, String content) {
         Enquiry enquiry = new Enquiry(senderNRIC, projectName, content);
         EnquiryRegistry.addEnquiry(enquiry);
+        Journal.recordEnquiryAdded(enquiry);
         System.out.println("Enquiry submitted.");
     }
 
@@ -43,7 +45,11 @@ public class EnquiryController {
     * @return True if deletion was successful, false otherwise.
     */
     public boolean deleteEnquiry(int id, String senderNRIC) {
-        return EnquiryRegistry.deleteById(id, senderNRIC);
+        boolean deleted = EnquiryRegistry.deleteById(id, senderNRIC);
+        if (deleted) {
+            Journal.recordEnquiryDeleted(id, senderNRIC);
+        }
+        return deleted;
     }
 
     /**
@@ -79,6 +85,7 @@ public class EnquiryController {
 
         enquiry.reply(replyText);
         enquiry.setReplyBy(user.getName());
+        Journal.recordEnquiry(enquiry);
 
         return true;
     }
@@ -109,6 +116,7 @@ public class EnquiryController {
         }
 
         enquiry.setContent(newContent);
+        Journal.recordEnquiry(enquiry);
         System.out.println("Enquiry successfully updated.");
         return true;
     }
@@ -122,4 +130,14 @@ public class EnquiryController {
     public List<Enquiry> getProjectEnquiries(String projectName) {
         return EnquiryRegistry.getEnquiriesByProject(projectName);
     }
+
+    /**
+    * Retrieves the enquiries for a project that are still awaiting a reply, oldest first.
+    *
+    * @param projectName The name of the project.
+    * @return A list of unanswered enquiries related to the project.
+    */
+    public List<Enquiry> getUnansweredProjectEnquiries(String projectName) {
+        return EnquiryRegistry.getUnansweredByProject(projectName);
+    }
 }
@@ -3,7 +3,10 @@ package controller;
 import model.*;
 import util.Filter;
 import util.FilterUtil;
+import util.Journal;
+import util.ResultCache;
 import util.TableUtil;
+import util.VisibilityScheduler;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -60,11 +63,17 @@ public class ManagerController {
             }
         }
 
-        ProjectRegistry.addProject(project);
+        if (!ProjectRegistry.addProjectIfAbsent(project)) { // another session created it meanwhile
+            System.out.println("Project with this name already exists.");
+            return;
+        }
+        Journal.recordProject(project);
+        VisibilityScheduler.schedule(project);
         System.out.println("Project created successfully.");
 
         if (manager.getAssignedProject() == null) {
             manager.assignToProject(project.getName());
+            Journal.recordManager(manager);
         }
     }
 
@@ -74,7 +83,8 @@ public class ManagerController {
     * @param filter The filter criteria to apply to projects.
     */
     public void viewAllProject(Filter filter) {
-        List<Project> projects = FilterUtil.applyFilter(ProjectRegistry.getAllProjects().stream().sorted(Comparator.comparing(Project::getName, String.CASE_INSENSITIVE_ORDER)).toList(), filter);
+        List<Project> projects = ResultCache.get("projects", filter, () ->
+            FilterUtil.applyFilter(ProjectRegistry.getAllProjects().stream().sorted(Comparator.comparing(Project::getName, String.CASE_INSENSITIVE_ORDER)).toList(), filter));
 
         if (projects.isEmpty()) {
             System.out.println("No projects found.");
@@ -95,6 +105,7 @@ public class ManagerController {
         }
         Project project = ProjectRegistry.getProjectByName(projectName);
         project.setVisibility(!project.isVisible());
+        Journal.recordProject(project);
         String status = project.isVisible() ? "visible" : "hidden";
         System.out.println("Project " + projectName + " is now " + status + " to applicant.");
     }
@@ -112,6 +123,7 @@ public class ManagerController {
         if (project == null) return false;
     
         project.setNeighborhood(newNeighborhood);
+        Journal.recordProject(project);
         return true;
     }
     
@@ -128,6 +140,8 @@ public class ManagerController {
         if (project == null) return false;
     
         project.setOpenDate(openDate);
+        Journal.recordProject(project);
+        VisibilityScheduler.schedule(project);
         return true;
     }
     
@@ -144,6 +158,8 @@ public class ManagerController {
         if (project == null) return false;
     
         project.setCloseDate(closeDate);
+        Journal.recordProject(project);
+        VisibilityScheduler.schedule(project);
         return true;
     }
     
@@ -167,6 +183,7 @@ public class ManagerController {
         project.getFlatTypes().get(flatType).setTotalUnits(units);
         project.getFlatTypes().get(flatType).setRemainingUnits(units - noOfBookedUnits);
         project.getFlatTypes().get(flatType).setPrice(price);
+        Journal.recordProject(project);
         return true;
     }
     
@@ -188,6 +205,7 @@ public class ManagerController {
         if (project == null) return false;
     
         project.setMaxOfficerSlots(slots);
+        Journal.recordProject(project);
         return true;
     }
         
@@ -228,10 +246,12 @@ public class ManagerController {
         }
         
         ProjectRegistry.removeProject(projectName);
+        Journal.recordProjectDeleted(projectName);
         manager.getManagedProjects().removeIf(p -> p.equalsIgnoreCase(projectName));
         if (manager.getAssignedProject() != null &&
             manager.getAssignedProject().equalsIgnoreCase(projectName)) {
             manager.unassignProject();;
+            Journal.recordManager(manager);
         }
         System.out.println("Project deleted.");
     }
@@ -275,10 +295,12 @@ public class ManagerController {
             // Assign officer to project
             project.addOfficer(officer.getName());
             officer.assignToProject(projectName);
+            Journal.recordProject(project);
         }
     
         // Update officer status
         officer.setRegistrationStatus(projectName, targetStatus);
+        Journal.recordOfficerRegistration(officer, projectName);
     
         String statusMessage = (targetStatus == HDBOfficer.RegistrationStatus.APPROVED) ? "approved" : "rejected";
         System.out.println("Officer " + officer.getName() + " application has been " + statusMessage + ".");
@@ -290,59 +312,42 @@ public class ManagerController {
     * Displays all officers grouped by their registration status (PENDING and APPROVED).
     */
     public void getAllOfficersByStatus() {
-        List<HDBOfficer> allOfficers = new ArrayList<>();
-
-        for (User user : authController.getAllUsers().values()) {
-            if (user instanceof HDBOfficer officer) {
-                allOfficers.add(officer);
-            }
-        }
-
         // === Pending Officers ===
         System.out.println("\n=== Pending Officers ===");
-        boolean hasPending = false;
-
-        for (HDBOfficer officer : allOfficers) {
-            for (Map.Entry<String, HDBOfficer.RegistrationStatus> entry : officer.getAllRegistrations().entrySet()) {
-                if (entry.getValue() == HDBOfficer.RegistrationStatus.PENDING) {
-                    System.out.printf("- %s (NRIC: %s) | Project: %s | Status: %s\n",
-                        officer.getName(),
-                        officer.getNric(),
-                        entry.getKey(),
-                        entry.getValue());
-                    hasPending = true;
-                }
-            }
-        }
-
-        if (!hasPending) {
+        if (!printRegistrations(HDBOfficer.RegistrationStatus.PENDING)) {
             System.out.println("No pending officers found.");
         }
 
         // === Approved Officers ===
         System.out.println("\n=== Approved Officers ===");
-        boolean hasApproved = false;
-
-        for (HDBOfficer officer : allOfficers) {
-            for (Map.Entry<String, HDBOfficer.RegistrationStatus> entry : officer.getAllRegistrations().entrySet()) {
-                if (entry.getValue() == HDBOfficer.RegistrationStatus.APPROVED) {
-                    System.out.printf("- %s (NRIC: %s) | Project: %s | Status: %s\n",
-                        officer.getName(),
-                        officer.getNric(),
-                        entry.getKey(),
-                        entry.getValue());
-                    hasApproved = true;
-                }
-            }
-        }
-
-        if (!hasApproved) {
+        if (!printRegistrations(HDBOfficer.RegistrationStatus.APPROVED)) {
             System.out.println("No approved officers found.");
         }
 
         System.out.println();
     }
 
+    /**
+    * Prints every officer's project registrations that have the given status.
+    *
+    * @param status The registration status to print.
+    * @return True if at least one registration was printed.
+    */
+    private boolean printRegistrations(HDBOfficer.RegistrationStatus status) {
+        boolean found = false;
+        for (Map.Entry<String, List<HDBOfficer>> entry : OfficerRegistry.getRegistrationsByStatus(status).entrySet()) {
+            for (HDBOfficer officer : entry.getValue()) {
+                System.out.printf("- %s (NRIC: %s) | Project: %s | Status: %s\n",
+                    officer.getName(),
+                    officer.getNric(),
+                    entry.getKey(),
+                    status);
+                found = true;
+            }
+        }
+        return found;
+    }
+
     /**
     * Retrieves all officers who have pending applications to the manager’s assigned project.
     *
@@ -351,18 +356,9 @@ public class ManagerController {
     */
     public List<HDBOfficer> getPendingOfficerApplications(HDBManager manager) {
         String projectName = manager.getAssignedProject();
-        List<HDBOfficer> pendingOfficers = new ArrayList<>();
-    
-        for (User user : authController.getAllUsers().values()) {
-            if (user instanceof HDBOfficer officer) {
-                HDBOfficer.RegistrationStatus status = officer.getRegistrationStatus(projectName);
-                if (status == HDBOfficer.RegistrationStatus.PENDING) {
-                    pendingOfficers.add(officer);
-                }
-            }
-        }
-    
-        return pendingOfficers;
+        if (projectName == null) return new ArrayList<>();
+
+        return OfficerRegistry.getOfficers(projectName, HDBOfficer.RegistrationStatus.PENDING);
     }
 
     /**
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.Map;
 
 import model.*;
+import util.Journal;
 
 /**
 * Controller for handling actions available to HDB Officers, including project registration,
@@ -70,6 +71,7 @@ public class OfficerController {
 
         // Set registration status to pending
         officer.setRegistrationStatus(projectName, HDBOfficer.RegistrationStatus.PENDING);
+        Journal.recordOfficerRegistration(officer, projectName);
         System.out.println("Registration request submitted. Awaiting Manager approval.");
         return true;
     }
@@ -2,10 +2,17 @@ package main;
 
 import controller.*;
 
+import java.io.File;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 import model.*;
 import util.*;
 import view.*;
@@ -17,6 +24,9 @@ import view.*;
 * <ul>
 *   <li>Loading data from Excel into in-memory registries</li>
 *   <li>Instantiating controllers and launching role-specific CLI interfaces</li>
+*   <li>Optionally serving many sessions at once over local sockets ({@link SessionServer})</li>
+*   <li>Replaying the mutation journal left behind by an unclean shutdown</li>
+*   <li>Hiding projects from applicants as their application windows close</li>
 *   <li>Persisting data on shutdown using ExcelWriter</li>
 * </ul>
 * 
@@ -31,21 +41,41 @@ import view.*;
 * @version 1.0
 */
 public class MainApp {
+    private static final String DATA_PATH = "src/data/CombinedExcel.xlsx";
+    private static final String JOURNAL_PATH = "src/data/CombinedExcel.journal";
+    private static final String SNAPSHOT_PATH = "src/data/CombinedExcel.snapshot";
+
+    private static volatile long generation = 0; // save generation of the loaded or last saved data
+
     /**
     * Initializes the system, loads data, and routes users to their respective role-based CLIs.
     *
-    * @param args Command-line arguments (not used).
+    * @param args Command-line arguments: {@code --parallel-load} parses workbook sheets concurrently,
+    *             {@code --load-timing} prints how long each load phase took,
+    *             {@code --concurrent} stores data in thread-safe registries that several sessions can share,
+    *             {@code --server [port]} serves sessions over local sockets instead of the console (implies {@code --concurrent}).
     */ 
     public static void main(String[] args) {
+        List<String> options = Arrays.asList(args);
+        int serverPort = serverPort(options);
+        if (serverPort < 0) return; // invalid port, already reported
+        if (options.contains("--concurrent") || serverPort > 0) {
+            Registries.enableConcurrentMode(); // before loading, so data goes straight into concurrent storage
+        }
+        // Declared before the hook so the snapshot can include every registered user
+        AuthController authController = new AuthController();
+
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            ExcelWriter.saveData();
+            SessionServer.stop();
+            VisibilityScheduler.stop();
+            checkpoint(authController, PasswordWriter.shutdown());
+            Journal.close();
         }));
 
-        Map<String, Filter> userfilters = new HashMap<>();
+        Map<String, Filter> userfilters = new ConcurrentHashMap<>(); // shared by every session
         Scanner sc = new Scanner(System.in);
         
         // ===== Initialize Controllers =====
-        AuthController authController = new AuthController();
         ApplicationController applicationController = new ApplicationController();
         EnquiryController enquiryController = new EnquiryController();
         OfficerController officerController = new OfficerController(applicationController);
@@ -54,12 +84,58 @@ public class MainApp {
         LoginCLI loginCLI = new LoginCLI(authController, sc);
 
         // ===== Load All Data =====
-        if (!loadData(authController, "src/data/CombinedExcel.xlsx")) {
+        if (!loadData(authController, DATA_PATH, options.contains("--parallel-load"), options.contains("--load-timing"))) {
+            sc.close();
+            return;
+        }
+
+        // ===== Recover Unsaved Changes =====
+        int replayed = Journal.replay(JOURNAL_PATH, authController.getAllUsers(), generation);
+        Journal.open(JOURNAL_PATH);
+        if (replayed > 0) {
+            ApplicationRegistry.rebuildReservations(); // replayed approvals and bookings move reserved units
+            System.out.println("Recovered " + replayed + " unsaved change(s) from the last session.");
+            checkpoint(authController, PasswordWriter.flush()); // replayed passwords live only in the user sheets
+        } else {
+            Journal.compact(generation); // nothing to recover, or the loaded data already holds it
+        }
+
+        // ===== Open and Close Project Windows =====
+        VisibilityScheduler.start(); // hides closed projects now, and the rest as their windows close
+
+        // ===== Serve Sessions =====
+        if (serverPort > 0) {
+            try {
+                SessionServer.serve(serverPort, () -> {
+                    LoginCLI sessionLogin = new LoginCLI(authController, new Scanner(System.in)); // System.in is this connection
+                    runLoginLoop(sessionLogin, authController, applicationController, enquiryController, officerController, managerController, userfilters);
+                });
+            } catch (IOException e) {
+                System.out.println("Failed to start the session server: " + e.getMessage());
+            }
             sc.close();
             return;
         }
 
-        // ===== Login Loop =====
+        runLoginLoop(loginCLI, authController, applicationController, enquiryController, officerController, managerController, userfilters);
+        sc.close();
+    }
+
+    /**
+    * Runs the login loop for one session, routing each user to the CLI for their role
+    * until the user chooses to exit.
+    *
+    * @param loginCLI             The login prompt, reading from this session's input.
+    * @param authController       The authentication controller.
+    * @param applicationController The application controller.
+    * @param enquiryController    The enquiry controller.
+    * @param officerController    The officer controller.
+    * @param managerController    The manager controller.
+    * @param userfilters          The saved filters of every user, by NRIC.
+    */
+    private static void runLoginLoop(LoginCLI loginCLI, AuthController authController, ApplicationController applicationController,
+                                     EnquiryController enquiryController, OfficerController officerController,
+                                     ManagerController managerController, Map<String, Filter> userfilters) {
         while (true) {
             loginCLI.welcomeScreen();
             User user = loginCLI.promptLogin();
@@ -88,75 +164,155 @@ public class MainApp {
         }
 
         System.out.println("Thank you for using the system!");
-        sc.close();
     }
 
     /**
-    * Loads users, projects, enquiries, and applications from an Excel file and assigns them
+    * Reads the port for {@code --server}, which may be followed by a port number.
+    *
+    * @param options The command-line arguments.
+    * @return The port, 0 if server mode was not requested, or -1 if the port is invalid.
+    */
+    private static int serverPort(List<String> options) {
+        int index = options.indexOf("--server");
+        if (index < 0) return 0;
+        if (index + 1 >= options.size() || options.get(index + 1).startsWith("--")) return SessionServer.DEFAULT_PORT;
+
+        try {
+            int port = Integer.parseInt(options.get(index + 1));
+            if (port >= 1 && port <= 65535) return port;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        System.out.println("Invalid port for --server: " + options.get(index + 1));
+        return -1;
+    }
+
+    /**
+    * Loads users, projects, enquiries, and applications and assigns them
     * to the relevant registries and user roles.
     * <p>
-    * Also handles automatic project assignment and visibility updates based on project status.
+    * Data is read from the binary snapshot unless the Excel file was saved at a later generation,
+    * otherwise from the Excel file itself. Also handles automatic project assignment based on project status;
+    * closed projects are hidden by {@link VisibilityScheduler} once it starts.
     *
     * @param authController The authentication controller to register users with.
     * @param path           The path to the Excel file.
+    * @param parallel       True to parse the Excel sheets concurrently.
+    * @param printTiming    True to print per-phase load timings.
     * @return True if data loading was successful; false otherwise.
     */
-    private static boolean loadData(AuthController authController, String path) {
-        ExcelReader.ExcelData data = ExcelReader.loadAllData(path);
+    private static boolean loadData(AuthController authController, String path, boolean parallel, boolean printTiming) {
+        ExcelReader.ExcelData data = null;
+        if (BinarySnapshot.isCurrent(SNAPSHOT_PATH, path)) {
+            data = BinarySnapshot.load(SNAPSHOT_PATH);
+            generation = BinarySnapshot.readGeneration(SNAPSHOT_PATH);
+        }
+        if (data == null) {
+            data = ExcelStreamReader.loadAllData(path, parallel, printTiming);
+            generation = Math.max(ExcelStreamReader.readGeneration(path), BinarySnapshot.readGeneration(SNAPSHOT_PATH));
+        }
         if (data == null) {
             System.out.println("Failed to load data from Excel file. Exiting...");
             return false;
         }
 
-        // Load into registries
+        populate(authController, data);
+        return true;
+    }
+
+    /**
+    * Saves all data under the next save generation: the snapshot first, then the workbook, and
+    * the journal is compacted once both are written.
+    * <p>
+    * If the process stops part-way, the snapshot carries a later generation than the workbook and
+    * is loaded on the next start, and the journal it already contains is not replayed. If the
+    * snapshot cannot be written it is deleted, so the workbook alone is loaded next time.
+    *
+    * @param authController The authentication controller holding every user.
+    * @param passwordsSaved True if queued password changes reached the workbook.
+    */
+    private static void checkpoint(AuthController authController, boolean passwordsSaved) {
+        long next = generation + 1;
+        if (!BinarySnapshot.write(SNAPSHOT_PATH, authController.getAllUsers().values(), next)) {
+            new File(SNAPSHOT_PATH).delete(); // an older snapshot must not win over the workbook saved below
+        }
+        ExcelWriter.setGeneration(next);
+        if (ExcelWriter.saveData() && passwordsSaved) {
+            Journal.compact(next); // everything journalled is now saved
+        }
+        generation = next;
+    }
+
+    /**
+    * Loads parsed data into the registries and links users to their projects.
+    * Package-private so the loading benchmark can time it without reading a workbook.
+    *
+    * @param authController The authentication controller to register users with.
+    * @param data           The parsed data.
+    */
+    static void populate(AuthController authController, ExcelReader.ExcelData data) {
         ProjectRegistry.loadProjects(data.projects);
         EnquiryRegistry.loadEnquiries(data.enquiries);
         ApplicationRegistry.loadApplications(data.applications);
+        OfficerRegistry.loadOfficers(data.officers); // registrations read from a snapshot; linking adds the approved ones
+
+        linkEntities(authController, data);
+    }
+
+    /**
+    * Registers every user and links managers and officers to their projects in a single pass.
+    * <p>
+    * Projects are grouped by manager name and officers are indexed by name up front, so each
+    * project and each officer entry is visited once instead of once per manager or officer.
+    * Each manager's current project is picked from the project window index: the first open
+    * project, otherwise the earliest upcoming one.
+    *
+    * @param authController The authentication controller to register users with.
+    * @param data           The loaded data to link.
+    */
+    private static void linkEntities(AuthController authController, ExcelReader.ExcelData data) {
+        LocalDate today = LocalDate.now();
+
+        // Index projects by manager and officers by name
+        Map<String, List<Project>> projectsByManager = new HashMap<>();
+        for (Project project : data.projects) {
+            projectsByManager.computeIfAbsent(project.getManagerName().toLowerCase(), k -> new ArrayList<>()).add(project);
+        }
+
+        Map<String, List<HDBOfficer>> officersByName = new HashMap<>();
+        for (HDBOfficer officer : data.officers) {
+            authController.addUser(officer);
+            officersByName.computeIfAbsent(officer.getName(), k -> new ArrayList<>()).add(officer);
+        }
+
+        // Current project per manager: open projects first, then upcoming ones by open date
+        Map<String, Project> currentByManager = new HashMap<>();
+        for (Project project : ProjectWindowIndex.getOpenOn(today)) {
+            currentByManager.putIfAbsent(project.getManagerName().toLowerCase(), project);
+        }
+        for (Project project : ProjectWindowIndex.getOpeningAfter(today)) {
+            currentByManager.putIfAbsent(project.getManagerName().toLowerCase(), project);
+        }
 
         // Assign managers to projects
         for (HDBManager manager : data.managers) {
             authController.addUser(manager);
-            Project selectedProject = null;
-            LocalDate today = LocalDate.now();
-            LocalDate earliestFutureDate = LocalDate.MAX;
+            String managerKey = manager.getName().toLowerCase();
 
-            for (Project project : data.projects) {
-                if (!project.getManagerName().equalsIgnoreCase(manager.getName())) continue; // Only consider projects assigned to this manager
+            for (Project project : projectsByManager.getOrDefault(managerKey, List.of())) {
                 manager.addManagedProject(project.getName());
-
-                LocalDate openDate = project.getOpenDate();
-                LocalDate closeDate = project.getCloseDate();
-
-                // Check if the project is currently open
-                if ((openDate.isBefore(today) || openDate.isEqual(today))
-                        && (closeDate.isAfter(today) || closeDate.isEqual(today))) {
-                    selectedProject = project;
-                    break;
-                }
-
-                // If no current project, find the earliest future project
-                if (openDate.isAfter(today) && openDate.isBefore(earliestFutureDate)) {
-                    selectedProject = project;
-                    earliestFutureDate = openDate;
-                }
             }
 
+            Project selectedProject = currentByManager.get(managerKey);
             if (selectedProject != null) {
                 manager.assignToProject(selectedProject.getName());
             }
         }
 
-        // auto set project visibility to off if passed closed date
         for (Project project : data.projects) {
-            LocalDate today = LocalDate.now();
-
-            if (project.getCloseDate().isBefore(today)) {
-                project.setVisibility(false); // Auto hide projects that are closed
-            }
-
-            for (HDBOfficer officer : data.officers) {
-                authController.addUser(officer);
-                if (project.getOfficerList().contains(officer.getName())) {
+            // Approve the officers listed on the project
+            for (String officerName : new LinkedHashSet<>(project.getOfficerList())) {
+                for (HDBOfficer officer : officersByName.getOrDefault(officerName, List.of())) {
                     officer.assignToProject(project.getName());
                     officer.setRegistrationStatus(project.getName(), HDBOfficer.RegistrationStatus.APPROVED);
                 }
@@ -165,7 +321,5 @@ public class MainApp {
 
         // Register users
         for (Applicant a : data.applicants) authController.addUser(a);
-
-        return true;
     }
 }
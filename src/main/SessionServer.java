@@ -0,0 +1,181 @@
+package main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import util.SessionStreams;
+
+/**
+* Serves the CLI to many users at once over local socket connections.
+* <p>
+* Each accepted connection runs one session (login loop and role menus) on its own thread,
+* with {@code System.in} and {@code System.out} routed to the connection by {@link SessionStreams}.
+* Sessions run on virtual threads when the JVM provides them (Java 21 and later), so thousands of
+* mostly idle sessions cost little; older JVMs fall back to a pool of small-stack platform threads.
+* All sessions share the in-memory registries, which should be in concurrent mode.
+* <p>
+* Connect with any line-based client, e.g. {@code nc localhost 5050}.
+*
+* @author Javier
+* @version 1.0
+*/
+public class SessionServer {
+    public static final int DEFAULT_PORT = 5050;
+    private static final int BACKLOG = 1024; // launch-day bursts queue here while sessions are started
+    private static final int IDLE_TIMEOUT_MS = (int) TimeUnit.MINUTES.toMillis(30);
+    private static final long PLATFORM_STACK_SIZE = 256 * 1024;
+
+    private static ServerSocket serverSocket;
+    private static ExecutorService sessions;
+    private static final AtomicInteger activeSessions = new AtomicInteger();
+    private static final Set<Socket> openSockets = ConcurrentHashMap.newKeySet(); // closed by stop(), which unblocks their reads
+
+    /**
+    * Accepts connections on the loopback interface and runs a session for each, until {@link #stop()}.
+    *
+    * @param port The port to listen on.
+    * @param session The session to run for each connection; it reads and writes {@code System.in}/{@code System.out}.
+    * @throws IOException If the port cannot be opened.
+    */
+    public static void serve(int port, Runnable session) throws IOException {
+        ServerSocket server;
+        synchronized (SessionServer.class) {
+            SessionStreams.install();
+            server = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+            serverSocket = server;
+            sessions = newSessionExecutor();
+        }
+        SessionStreams.console().println("Serving sessions on " + server.getInetAddress().getHostAddress() + ":" + server.getLocalPort()
+            + " (" + (isVirtual() ? "virtual threads" : "platform threads") + "). Press Ctrl+C to stop.");
+
+        while (!server.isClosed()) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (SocketException e) {
+                break; // closed by stop()
+            }
+            openSockets.add(socket);
+            ExecutorService executor = sessions;
+            if (executor == null) {
+                closeSocket(socket);
+                break;
+            }
+            try {
+                executor.execute(() -> runSession(socket, session));
+            } catch (RejectedExecutionException e) {
+                closeSocket(socket); // stopped while accepting
+                break;
+            }
+        }
+    }
+
+    /**
+    * Stops accepting connections and ends running sessions by closing their connections.
+    * Closing is what wakes a session blocked reading from its client; an interrupt alone does not.
+    */
+    public static void stop() {
+        ServerSocket server;
+        ExecutorService executor;
+        synchronized (SessionServer.class) {
+            server = serverSocket;
+            executor = sessions;
+            serverSocket = null;
+            sessions = null;
+        }
+        if (server != null) {
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.out.println("Error closing server socket: " + e.getMessage());
+            }
+        }
+        if (executor != null) executor.shutdownNow();
+        for (Socket socket : openSockets) closeSocket(socket);
+    }
+
+    /**
+    * Returns the number of connected sessions.
+    *
+    * @return The number of sessions currently running.
+    */
+    public static int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    private static void runSession(Socket socket, Runnable session) {
+        activeSessions.incrementAndGet();
+        try (socket) {
+            socket.setSoTimeout(IDLE_TIMEOUT_MS);
+            socket.setTcpNoDelay(true); // prompts are small writes
+            PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream()), false, StandardCharsets.UTF_8);
+            SessionStreams.bind(new BufferedInputStream(socket.getInputStream()), out);
+            try {
+                session.run();
+            } catch (NoSuchElementException | IllegalStateException e) {
+                // the client disconnected or went idle; nothing left to tell them
+            } catch (RuntimeException e) {
+                SessionStreams.console().println("Session ended with an error: " + e);
+            } finally {
+                out.flush();
+                SessionStreams.unbind();
+            }
+        } catch (IOException e) {
+            SessionStreams.console().println("Session connection error: " + e.getMessage());
+        } finally {
+            openSockets.remove(socket);
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    private static void closeSocket(Socket socket) {
+        openSockets.remove(socket);
+        try {
+            socket.close();
+        } catch (IOException e) {
+            SessionStreams.console().println("Error closing session connection: " + e.getMessage());
+        }
+    }
+
+    /**
+    * Creates the session executor: a virtual thread per session if available, otherwise a
+    * cached pool of daemon platform threads with small stacks.
+    */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtual.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(null, r, "session-" + count.incrementAndGet(), PLATFORM_STACK_SIZE);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    private static boolean isVirtual() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package model;
 
 import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import util.ISearchable;
+import util.CompiledFilter;
 import util.Filter;
 
 /**
@@ -28,7 +31,9 @@ public class Application implements ISearchable{
     private Applicant applicant;
     private Project project;
     private String flatType; // "2-Room" or "3-Room"
-    private Status status;
+    private final String flatTypeKey; // lower-cased flat type, compared against compiled filters
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.PENDING);
+    private final AtomicBoolean unitReserved = new AtomicBoolean(); // holds one reserved unit of its flat type
     private LocalDate applicationDate;
     private Boolean withdrawalRequested = false;
 
@@ -72,7 +77,7 @@ public class Application implements ISearchable{
         this.applicant = applicant;
         this.project = project;
         this.flatType = flatType;
-        this.status = Status.PENDING; // Default to pending on submission
+        this.flatTypeKey = flatType == null ? "" : CompiledFilter.lower(flatType);
         this.applicationDate = LocalDate.now(); // Default to current date
     }
 
@@ -92,6 +97,7 @@ public class Application implements ISearchable{
     */
     public void setApplicationDate(LocalDate applicationDate) {
         this.applicationDate = applicationDate;
+        ApplicationRegistry.markDirty(this);
     }
 
     /**
@@ -127,7 +133,7 @@ public class Application implements ISearchable{
     * @return The status of the application.
     */
     public Status getStatus() {
-        return status;
+        return status.get();
     }
 
     /**
@@ -136,7 +142,81 @@ public class Application implements ISearchable{
     * @param newStatus The new status to assign.
     */
     public void setStatus(Status newStatus) {
-        this.status = newStatus;
+        Status oldStatus = status.getAndSet(newStatus);
+        ApplicationRegistry.statusChanged(this, oldStatus);
+        ApplicationRegistry.markDirty(this);
+    }
+
+    /**
+    * Atomically moves the application from one status to another.
+    * Fails, leaving the status untouched, if the application is no longer in the expected status,
+    * so two sessions cannot both act on the same application.
+    *
+    * @param expected The status the application must currently have.
+    * @param newStatus The new status to assign.
+    * @return True if the status was changed; false if it was not the expected status.
+    */
+    public boolean transition(Status expected, Status newStatus) {
+        if (!status.compareAndSet(expected, newStatus)) return false;
+        ApplicationRegistry.statusChanged(this, expected);
+        ApplicationRegistry.markDirty(this);
+        return true;
+    }
+
+    /**
+    * Reserves one unit of the given flat type for this application.
+    * An application holds at most one reservation at a time.
+    *
+    * @param ft The flat type applied for.
+    * @return True if a unit was reserved; false if none are available or one is already held.
+    */
+    public boolean reserveUnit(FlatType ft) {
+        if (!unitReserved.compareAndSet(false, true)) return false;
+        if (ft.reserve()) return true;
+        unitReserved.set(false);
+        return false;
+    }
+
+    /**
+    * Books the unit this application reserved. Never takes a unit reserved by another application.
+    *
+    * @param ft The flat type applied for.
+    * @return True if the reserved unit was booked; false if this application holds no reservation
+    *         or the unit is no longer there.
+    */
+    public boolean confirmUnit(FlatType ft) {
+        if (!unitReserved.compareAndSet(true, false)) return false;
+        if (ft.confirm()) return true;
+        unitReserved.set(true);
+        return false;
+    }
+
+    /**
+    * Gives up the unit this application reserved, if it holds one.
+    *
+    * @param ft The flat type applied for.
+    * @return True if a reservation was released.
+    */
+    public boolean releaseUnit(FlatType ft) {
+        return unitReserved.compareAndSet(true, false) && ft.release();
+    }
+
+    /**
+    * Checks whether this application currently holds a reserved unit.
+    *
+    * @return True if a unit is reserved for this application.
+    */
+    public boolean hasReservedUnit() {
+        return unitReserved.get();
+    }
+
+    /**
+    * Records whether this application holds a reservation, when reservations are rebuilt on load.
+    *
+    * @param reserved True if a unit is reserved for this application.
+    */
+    void setUnitReserved(boolean reserved) {
+        unitReserved.set(reserved);
     }
 
     /**
@@ -145,7 +225,7 @@ public class Application implements ISearchable{
     * @return True if the status is SUCCESSFUL.
     */
     public boolean isBookable() {
-        return this.status == Status.SUCCESSFUL;
+        return status.get() == Status.SUCCESSFUL;
     }
 
     /**
@@ -154,7 +234,7 @@ public class Application implements ISearchable{
     * @return True if status is BOOKED.
     */
     public boolean isBooked() {
-        return this.status == Status.BOOKED;
+        return status.get() == Status.BOOKED;
     }
 
     /**
@@ -173,6 +253,7 @@ public class Application implements ISearchable{
     */
     public void setWithdrawalRequested(boolean requested) {
         this.withdrawalRequested = requested;
+        ApplicationRegistry.markDirty(this);
     }
 
     /**
@@ -182,35 +263,37 @@ public class Application implements ISearchable{
     * @return True if the application satisfies all filter conditions; false otherwise.
     */
     @Override
-    public boolean matches(Filter filter) {        
-        if (filter.getFlatType() != null &&
-            !this.getFlatType().equalsIgnoreCase(filter.getFlatType())) {
-            return false;
-        }
+    public boolean matches(Filter filter) {
+        return matches(CompiledFilter.compile(filter));
+    }
 
-        if (filter.getProjectName() != null &&
-            filter.getProjectName().stream().noneMatch(
-                n -> n.equalsIgnoreCase(this.getProject().getName()))) {
+    /**
+    * Checks whether this application matches a compiled filter.
+    * Cheap, selective checks (status, flat type, marital status, age) run before the project name lookup.
+    *
+    * @param filter The compiled filter criteria to apply.
+    * @return True if the application satisfies all filter conditions; false otherwise.
+    */
+    @Override
+    public boolean matches(CompiledFilter filter) {
+        if (filter.getStatuses() != null && !filter.getStatuses().contains(status.get())) {
             return false;
         }
-        
 
-        if (filter.getStatus() != null && !filter.getStatus().contains(this.getStatus())) {
+        if (filter.getFlatType() != null && !flatTypeKey.equals(filter.getFlatType())) {
             return false;
         }
 
-        if (filter.getMaritalStatus() != null &&
-            !this.getApplicant().getMaritalStatus().equalsIgnoreCase(filter.getMaritalStatus())) {
+        if (filter.getMaritalStatus() != null && !applicant.getMaritalStatusKey().equals(filter.getMaritalStatus())) {
             return false;
         }
 
-        if (filter.getMinAge() != null &&
-            this.getApplicant().getAge() < filter.getMinAge()) {
+        if (filter.hasAge() && !filter.ageInRange(applicant.getAge())) {
             return false;
         }
 
-        if (filter.getMaxAge() != null &&
-            this.getApplicant().getAge() > filter.getMaxAge()) {
+        if (filter.getProjectNames() != null &&
+            !filter.getProjectNames().contains(CompiledFilter.lower(project.getName()))) {
             return false;
         }
 
@@ -1,21 +1,42 @@
 package model;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import util.ApplicationBitmapIndex;
 
 /**
 * Central registry for storing and retrieving BTO applications by applicants.
 * 
 * Uses a static map to associate applicant NRICs with their list of applications.
+* NRICs are stored under a canonical key (trimmed, upper case), and a composite
+* (NRIC, project) index answers point lookups in constant time.
 * Provides filtering utilities based on applicant, project, and application status.
 * 
 * This registry supports multiple applications per applicant.
 * 
+* A secondary index groups applications by project and by status, so per-project queries
+* cost the size of their result instead of a scan over every application.
+* 
+* In concurrent mode (see {@link Registries}) the maps are concurrent, each applicant's list is
+* copy-on-write, additions hold the lock for the applicant's NRIC, and readers get snapshots.
+* 
 * @author Javier
 * @version 1.0
 */
 public class ApplicationRegistry {
 
-    private static final Map<String, List<Application>> applicationMap = new HashMap<>();
+    private static volatile Map<String, List<Application>> applicationMap = Registries.newMap(); // canonical NRIC -> applications
+    private static volatile Map<String, Application> nricProjectIndex = Registries.newMap(); // NRIC + project -> first application
+
+    // Secondary indexes: normalized project name -> applications, and -> status -> applications (guarded by the inner map)
+    private static volatile Map<String, Set<Application>> projectIndex = Registries.newMap();
+    private static volatile Map<String, Map<Application.Status, Set<Application>>> projectStatusIndex = Registries.newMap();
+
+    // Change tracking since the last save
+    private static final AtomicLong version = new AtomicLong();
+    private static final Object changeLock = new Object(); // guards dirtyApplications
+    private static Set<Application> dirtyApplications = new LinkedHashSet<>();
 
     /**
     * Loads a list of applications into the registry.
@@ -24,9 +45,82 @@ public class ApplicationRegistry {
     * @param applications List of applications to be loaded.
     */
     public static void loadApplications(List<Application> applications) {
-        applicationMap.clear(); // Start fresh
+        // Start fresh, in collections that match the current mode
+        applicationMap = Registries.newMap();
+        nricProjectIndex = Registries.newMap();
+        projectIndex = Registries.newMap();
+        projectStatusIndex = Registries.newMap();
         for (Application application : applications) {
-            applicationMap.computeIfAbsent(application.getApplicant().getNric(), k -> new ArrayList<>()).add(application);
+            applicationMap.computeIfAbsent(nricKey(application.getApplicant().getNric()), k -> Registries.newList()).add(application);
+            index(nricKey(application.getApplicant().getNric()), application);
+        }
+        ApplicationBitmapIndex.load(applications);
+        rebuildReservations();
+        version.incrementAndGet();
+        clearChanges(); // freshly loaded data matches the file
+    }
+
+    /**
+    * Moves the current contents into collections that match the registry mode, keeping
+    * every ordering and the unsaved changes. Called by {@link Registries#setConcurrentMode}.
+    */
+    static void reloadStorage() {
+        Map<String, List<Application>> apps = Registries.newMap();
+        for (Map.Entry<String, List<Application>> entry : applicationMap.entrySet()) {
+            List<Application> list = Registries.newList();
+            list.addAll(entry.getValue());
+            apps.put(entry.getKey(), list);
+        }
+
+        Map<String, Application> nricProject = Registries.newMap();
+        nricProject.putAll(nricProjectIndex);
+
+        Map<String, Set<Application>> byProject = Registries.newMap();
+        for (Map.Entry<String, Set<Application>> entry : projectIndex.entrySet()) {
+            Set<Application> set = Registries.newOrderedSet();
+            set.addAll(Registries.snapshot(entry.getValue()));
+            byProject.put(entry.getKey(), set);
+        }
+
+        Map<String, Map<Application.Status, Set<Application>>> byProjectStatus = Registries.newMap();
+        for (Map.Entry<String, Map<Application.Status, Set<Application>>> entry : projectStatusIndex.entrySet()) {
+            Map<Application.Status, Set<Application>> byStatus = new EnumMap<>(Application.Status.class);
+            synchronized (entry.getValue()) {
+                entry.getValue().forEach((status, set) -> byStatus.put(status, new LinkedHashSet<>(set)));
+            }
+            byProjectStatus.put(entry.getKey(), byStatus);
+        }
+
+        applicationMap = apps;
+        nricProjectIndex = nricProject;
+        projectIndex = byProject;
+        projectStatusIndex = byProjectStatus;
+        version.incrementAndGet();
+    }
+
+    /**
+    * Recomputes flat unit reservations from the applications currently in the registry:
+    * every successful application that has not booked yet holds one unit of its flat type.
+    * Called after loading, and after replaying changes that may have moved applications between statuses.
+    */
+    public static void rebuildReservations() {
+        Set<Project> projects = new HashSet<>(ProjectRegistry.getAllProjects());
+        for (List<Application> apps : applicationMap.values()) {
+            for (Application app : apps) projects.add(app.getProject());
+        }
+        for (Project project : projects) {
+            for (FlatType ft : project.getFlatTypes().values()) ft.clearReservations();
+        }
+
+        for (List<Application> apps : applicationMap.values()) {
+            for (Application app : apps) {
+                app.setUnitReserved(false);
+                if (app.getStatus() != Application.Status.SUCCESSFUL) continue;
+                FlatType ft = app.getProject().getFlatType(app.getFlatType());
+                if (ft == null) continue;
+                ft.restoreReservation();
+                app.setUnitReserved(true);
+            }
         }
     }
 
@@ -37,26 +131,55 @@ public class ApplicationRegistry {
     * @param application The application to add.
     */
     public static void addApplication(String nric, Application application) {
-        applicationMap.computeIfAbsent(nric, k -> new ArrayList<>()).add(application);
+        String key = nricKey(nric);
+        Registries.withLock(key, () -> {
+            applicationMap.computeIfAbsent(key, k -> Registries.newList()).add(application);
+            index(key, application);
+            ApplicationBitmapIndex.added(application);
+            markDirty(application);
+        });
+    }
+
+    /**
+    * Adds a new application under the specified NRIC, unless the applicant already has an
+    * active application. The check and the addition happen under the applicant's lock, so
+    * two sessions cannot both submit an application for the same person.
+    *
+    * @param nric NRIC of the applicant.
+    * @param application The application to add.
+    * @return True if the application was added; false if an active one already exists.
+    */
+    public static boolean addApplicationIfNoneActive(String nric, Application application) {
+        return Registries.withLock(nricKey(nric), () -> {
+            if (hasActiveApplication(nric)) return false;
+            addApplication(nric, application);
+            return true;
+        });
     }
 
     /**
     * Retrieves all applications submitted by a given NRIC.
     *
     * @param nric The NRIC of the applicant.
-    * @return List of applications or an empty list if none found.
+    * @return Read-only list of applications, in submission order, or an empty list if none found.
     */
     public static List<Application> getApplicationByNRIC(String nric) {
-        return applicationMap.getOrDefault(nric, new ArrayList<>());
+        List<Application> apps = applicationMap.get(nricKey(nric));
+        return apps == null ? Collections.emptyList() : Collections.unmodifiableList(apps);
     }
 
     /**
     * Retrieves all applications stored in the registry.
+    * In concurrent mode the result is a snapshot that later changes do not affect.
     *
-    * @return Map of NRICs to their list of applications.
+    * @return Read-only map of canonical (upper-case) NRICs to their list of applications.
     */
     public static Map<String, List<Application>> getAllApplications() {
-        return applicationMap;
+        if (!Registries.isConcurrent()) return Collections.unmodifiableMap(applicationMap);
+
+        Map<String, List<Application>> snapshot = new HashMap<>();
+        applicationMap.forEach((nric, apps) -> snapshot.put(nric, List.copyOf(apps)));
+        return Collections.unmodifiableMap(snapshot);
     }
 
     /**
@@ -66,7 +189,7 @@ public class ApplicationRegistry {
     * @return True if an active application exists; false otherwise.
     */
     public static boolean hasActiveApplication(String nric) {
-        List<Application> apps = applicationMap.get(nric);
+        List<Application> apps = applicationMap.get(nricKey(nric));
         if (apps == null) return false;
     
         for (Application app : apps) {
@@ -86,16 +209,7 @@ public class ApplicationRegistry {
     * @return The matching application, or null if none found.
     */
     public static Application getApplicationByNricAndProject(String nric, String projectName) {
-        List<Application> apps = applicationMap.entrySet().stream().filter(entry -> entry.getKey().equalsIgnoreCase(nric)).map(Map.Entry::getValue).findFirst().orElse(null);
-        if (apps == null) return null;
-    
-        for (Application application : apps) {
-            if (application.getProject().getName().equalsIgnoreCase(projectName)) {
-                return application;
-            }
-        }
-    
-        return null;
+        return nricProjectIndex.get(compositeKey(nricKey(nric), projectName));
     }
     
     /**
@@ -106,10 +220,7 @@ public class ApplicationRegistry {
     * @return True if a matching application exists; false otherwise.
     */
     public static boolean hasUserAppliedForProject(String nric, String projectName) {
-        List<Application> applications = applicationMap.entrySet().stream().filter(entry -> entry.getKey().equalsIgnoreCase(nric)).map(Map.Entry::getValue).findFirst().orElse(null);
-        if (applications == null) return false;
-        return applications.stream().anyMatch(app -> 
-            app.getProject().getName().equalsIgnoreCase(projectName));
+        return nricProjectIndex.containsKey(compositeKey(nricKey(nric), projectName));
     }
 
     /**
@@ -119,11 +230,7 @@ public class ApplicationRegistry {
     * @return List of successful applications.
     */
     public static List<Application> getSuccessfulApplicationsByProject(String projectName) {
-        return applicationMap.values().stream()
-            .flatMap(List::stream)
-            .filter(app -> app.getProject().getName().equalsIgnoreCase(projectName))
-            .filter(app -> app.getStatus() == Application.Status.SUCCESSFUL)
-            .toList();
+        return getApplicationsByProjectAndStatus(projectName, Application.Status.SUCCESSFUL);
     }
 
     /**
@@ -133,11 +240,7 @@ public class ApplicationRegistry {
     * @return List of booked applications.
     */
     public static List<Application> getFlatBookedByProject(String projectName) {
-        return applicationMap.values().stream()
-            .flatMap(List::stream)
-            .filter(app -> app.getProject().getName().equalsIgnoreCase(projectName))
-            .filter(app -> app.getStatus() == Application.Status.BOOKED)
-            .toList();
+        return getApplicationsByProjectAndStatus(projectName, Application.Status.BOOKED);
     }
 
     /**
@@ -147,10 +250,137 @@ public class ApplicationRegistry {
     * @return List of applications related to the project.
     */
     public static List<Application> getApplicationsByProject(String projectName) {
-        return applicationMap.values().stream()
-            .flatMap(List::stream)
-            .filter(app -> app.getProject().getName().equalsIgnoreCase(projectName))
-            .toList();
+        Set<Application> apps = projectIndex.get(projectKey(projectName));
+        return apps == null ? List.of() : List.copyOf(Registries.snapshot(apps));
     }
-    
-}
\ No newline at end of file
+
+    /**
+    * Retrieves all applications for a specific project that currently have the given status.
+    *
+    * @param projectName The name of the project.
+    * @param status The status to match.
+    * @return List of matching applications, in submission order.
+    */
+    public static List<Application> getApplicationsByProjectAndStatus(String projectName, Application.Status status) {
+        Map<Application.Status, Set<Application>> byStatus = projectStatusIndex.get(projectKey(projectName));
+        if (byStatus == null) return List.of();
+        synchronized (byStatus) {
+            Set<Application> apps = byStatus.get(status);
+            return apps == null ? List.of() : List.copyOf(apps);
+        }
+    }
+
+    /**
+    * Moves an application to its new status bucket in the project index and the bitmap index.
+    * Called by {@link Application#setStatus} on every transition; unregistered applications are ignored.
+    *
+    * @param application The application whose status changed.
+    * @param oldStatus The status before the change.
+    */
+    static void statusChanged(Application application, Application.Status oldStatus) {
+        if (oldStatus == application.getStatus()) return;
+        Map<Application.Status, Set<Application>> byStatus = projectStatusIndex.get(projectKey(application.getProject().getName()));
+        if (byStatus == null) return;
+
+        synchronized (byStatus) {
+            Set<Application> old = byStatus.get(oldStatus);
+            if (old == null || !old.remove(application)) return;
+            byStatus.computeIfAbsent(application.getStatus(), k -> new LinkedHashSet<>()).add(application);
+        }
+        ApplicationBitmapIndex.statusChanged(application); // reads the current status, so racing updates settle correctly
+    }
+
+    private static void index(String nricKey, Application application) {
+        nricProjectIndex.putIfAbsent(compositeKey(nricKey, application.getProject().getName()), application); // first one wins, as with a list scan
+        String key = projectKey(application.getProject().getName());
+        projectIndex.computeIfAbsent(key, k -> Registries.newOrderedSet()).add(application);
+        Map<Application.Status, Set<Application>> byStatus =
+            projectStatusIndex.computeIfAbsent(key, k -> new EnumMap<>(Application.Status.class));
+        synchronized (byStatus) {
+            byStatus.computeIfAbsent(application.getStatus(), k -> new LinkedHashSet<>()).add(application);
+        }
+    }
+
+    private static String projectKey(String projectName) {
+        return projectName == null ? "" : projectName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String nricKey(String nric) {
+        return nric == null ? "" : nric.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String compositeKey(String nricKey, String projectName) {
+        return nricKey + "|" + projectKey(projectName);
+    }
+
+    /**
+    * Records that an application in the registry was added or modified.
+    * Applications that are not registered are ignored.
+    *
+    * @param application The application that changed.
+    */
+    static void markDirty(Application application) {
+        List<Application> apps = applicationMap.get(nricKey(application.getApplicant().getNric()));
+        if (apps == null || !apps.contains(application)) return;
+        version.incrementAndGet();
+        synchronized (changeLock) {
+            dirtyApplications.add(application);
+        }
+    }
+
+    /**
+    * Returns a counter that increases on every change to the registry or its applications.
+    *
+    * @return The current modification count.
+    */
+    public static long getVersion() {
+        return version.get();
+    }
+
+    /**
+    * Checks whether anything changed since the last save.
+    *
+    * @return True if there are unsaved changes.
+    */
+    public static boolean hasChanges() {
+        synchronized (changeLock) {
+            return !dirtyApplications.isEmpty();
+        }
+    }
+
+    /**
+    * Takes the changes made since the last save and starts recording afresh, in one step.
+    * Changes made after this call are kept for the next save.
+    *
+    * @return The applications added or modified, in change order.
+    */
+    public static Registries.Changes<Application> takeChanges() {
+        synchronized (changeLock) {
+            Registries.Changes<Application> changes = new Registries.Changes<>(dirtyApplications, false);
+            dirtyApplications = new LinkedHashSet<>();
+            return changes;
+        }
+    }
+
+    /**
+    * Puts back changes taken by {@link #takeChanges()} whose save failed, so the next save retries them.
+    *
+    * @param changes The changes that were not saved.
+    */
+    public static void restoreChanges(Registries.Changes<Application> changes) {
+        synchronized (changeLock) {
+            Set<Application> dirty = new LinkedHashSet<>(changes.getItems());
+            dirty.addAll(dirtyApplications);
+            dirtyApplications = dirty;
+        }
+    }
+
+    /**
+    * Marks the registry as saved.
+    */
+    public static void clearChanges() {
+        synchronized (changeLock) {
+            dirtyApplications = new LinkedHashSet<>();
+        }
+    }
+}
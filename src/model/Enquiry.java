@@ -86,6 +86,7 @@ public class Enquiry {
     */
     public void setContent(String newContent) {
         this.content = newContent;
+        EnquiryRegistry.markDirty(this);
     }
 
     /**
@@ -122,6 +123,7 @@ public class Enquiry {
     */
     public void setReplyBy(String staffName) {
         this.replyBy = staffName;
+        EnquiryRegistry.markDirty(this);
     }
 
     /**
@@ -131,5 +133,7 @@ public class Enquiry {
     */
     public void reply(String replyContent) {
         this.reply = replyContent;
+        EnquiryRegistry.replyChanged(this);
+        EnquiryRegistry.markDirty(this);
     }
 }
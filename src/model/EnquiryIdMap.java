@@ -0,0 +1,146 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+* Map from enquiry ID to enquiry, used by {@link EnquiryRegistry}.
+* <p>
+* Lookups use an open-addressing hash table of positions into a dense entry array, so memory
+* follows the number of enquiries rather than the highest ID. Entries stay in insertion order,
+* and removed entries leave gaps that are squeezed out when the table is rebuilt, so
+* {@link #values()} walks only live entries (plus at most as many gaps).
+* <p>
+* Not thread-safe; the registry's lock guards it.
+*
+* @author Javier
+* @version 1.0
+*/
+final class EnquiryIdMap {
+    private static final int EMPTY = 0;    // slot never used; ends a probe
+    private static final int REMOVED = -1; // slot whose entry was removed; probes continue past it
+
+    private int[] slots;          // position + 1 in the entry arrays, or EMPTY/REMOVED
+    private int[] ids;            // ID of the entry at each position
+    private Enquiry[] entries;    // entry at each position, null once removed
+    private int used;             // positions taken in the entry arrays, including gaps
+    private int size;             // live entries
+    private int removedSlots;     // REMOVED markers in the slot table
+
+    EnquiryIdMap(int expectedSize) {
+        allocate(Math.max(8, expectedSize));
+    }
+
+    /**
+    * Returns the enquiry with the given ID.
+    *
+    * @param id The enquiry ID.
+    * @return The enquiry, or null if none has this ID.
+    */
+    Enquiry get(int id) {
+        int slot = find(id);
+        return slot < 0 ? null : entries[slots[slot] - 1];
+    }
+
+    /**
+    * Stores an enquiry under an ID, replacing any enquiry that had it.
+    * New IDs are appended, so they come last in {@link #values()}.
+    *
+    * @param id The enquiry ID.
+    * @param enquiry The enquiry.
+    */
+    void put(int id, Enquiry enquiry) {
+        int slot = find(id);
+        if (slot >= 0) {
+            entries[slots[slot] - 1] = enquiry;
+            return;
+        }
+        if (used == entries.length || (used + removedSlots + 1) * 2 > slots.length) {
+            rebuild(Math.max(8, (size + 1) * 2));
+        }
+        ids[used] = id;
+        entries[used] = enquiry;
+        insertSlot(id, ++used);
+        size++;
+    }
+
+    /**
+    * Removes the enquiry with the given ID.
+    *
+    * @param id The enquiry ID.
+    * @return The removed enquiry, or null if none had this ID.
+    */
+    Enquiry remove(int id) {
+        int slot = find(id);
+        if (slot < 0) return null;
+        int position = slots[slot] - 1;
+        Enquiry removed = entries[position];
+        entries[position] = null;
+        slots[slot] = REMOVED;
+        removedSlots++;
+        size--;
+        return removed;
+    }
+
+    /**
+    * Returns the live enquiries in insertion order.
+    *
+    * @return A new list of the enquiries.
+    */
+    List<Enquiry> values() {
+        List<Enquiry> result = new ArrayList<>(size);
+        for (int i = 0; i < used; i++) {
+            if (entries[i] != null) result.add(entries[i]);
+        }
+        return result;
+    }
+
+    /**
+    * Returns the slot holding an ID, or -1 if the ID is absent.
+    */
+    private int find(int id) {
+        int mask = slots.length - 1;
+        for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+            int position = slots[slot];
+            if (position == EMPTY) return -1;
+            if (position != REMOVED && ids[position - 1] == id) return slot;
+        }
+    }
+
+    private void insertSlot(int id, int positionPlusOne) {
+        int mask = slots.length - 1;
+        int slot = hash(id) & mask;
+        while (slots[slot] != EMPTY) slot = (slot + 1) & mask;
+        slots[slot] = positionPlusOne;
+    }
+
+    /**
+    * Compacts the entries, keeping their order, and rehashes them into a table sized for the given capacity.
+    */
+    private void rebuild(int capacity) {
+        int[] oldIds = ids;
+        Enquiry[] oldEntries = entries;
+        int oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldEntries[i] == null) continue;
+            ids[used] = oldIds[i];
+            entries[used] = oldEntries[i];
+            insertSlot(oldIds[i], ++used);
+        }
+    }
+
+    private void allocate(int capacity) {
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1; // at most half full
+        slots = new int[tableSize];
+        ids = new int[capacity];
+        entries = new Enquiry[capacity];
+        used = 0;
+        removedSlots = 0;
+    }
+
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9; // spreads sequential IDs across the table
+        return h ^ (h >>> 16);
+    }
+}
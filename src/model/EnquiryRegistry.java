@@ -8,44 +8,94 @@ import java.util.*;
 * Provides static methods to manage the enquiry lifecycle including loading from file,
 * adding new enquiries, searching by applicant or project, and deletion.
 * 
-* Data is stored in memory via a static list and intended to be loaded once at startup.
+* Data is stored in memory in a hash map keyed by enquiry ID, kept in ID order, and intended to be loaded once at startup.
+* IDs are stable: they are never renumbered, so the IDs users see and those stored in Excel do not shift.
+* 
+* Enquiries are also indexed by sender and by project, and each project keeps a first-in,
+* first-out queue of enquiries still awaiting a reply, so staff views cost the size of their result.
+* 
+* Every operation holds the registry's lock, since IDs and queues change together; each is short,
+* so sessions sharing the registry (see {@link Registries}) wait very little.
 * 
 * @author Javier
 * @version 1.0
 */
 public class EnquiryRegistry {
-    private static final List<Enquiry> enquiryList = new ArrayList<>();
+    private static EnquiryIdMap enquiriesById = new EnquiryIdMap(16); // in ID order
+    private static int nextId = 1;
+
+    // Secondary indexes, in ID order
+    private static final Map<String, Set<Enquiry>> bySender = new HashMap<>();
+    private static final Map<String, Set<Enquiry>> byProject = new HashMap<>(); // normalized project name
+    private static final Map<String, Set<Enquiry>> unansweredByProject = new HashMap<>(); // oldest first
+
+    // Change tracking since the last save
+    private static long version = 0;
+    private static Set<Enquiry> dirtyEnquiries = new LinkedHashSet<>();
+    private static boolean structuralChange = false;
 
     /**
     * Loads a list of enquiries into the registry at application startup.
     * Clears any existing entries before adding the new ones.
+    * <p>
+    * Stored IDs are kept. Enquiries without a usable ID (missing, duplicated or not positive)
+    * are given fresh IDs after the highest loaded one, and the sheet is marked for rewriting.
     *
     * @param enquiries The list of enquiries to load.
     */
-    public static void loadEnquiries(List<Enquiry> enquiries) {
-        enquiryList.clear();
-        for (Enquiry enquiry : enquiries) {
-            enquiryList.add(enquiry);
+    public static synchronized void loadEnquiries(List<Enquiry> enquiries) {
+        enquiriesById = new EnquiryIdMap(enquiries.size());
+        nextId = 1;
+        bySender.clear();
+        byProject.clear();
+        unansweredByProject.clear();
+
+        // Insert in ID order; later IDs are always higher, so the map stays in ID order
+        List<Enquiry> numbered = new ArrayList<>(enquiries);
+        numbered.sort(Comparator.comparingInt(Enquiry::getEnquiryId));
+        List<Enquiry> unnumbered = new ArrayList<>();
+        for (Enquiry enquiry : numbered) {
+            int id = enquiry.getEnquiryId();
+            if (id <= 0 || id == Integer.MAX_VALUE || getById(id) != null) {
+                unnumbered.add(enquiry);
+                continue;
+            }
+            enquiriesById.put(id, enquiry);
+            nextId = id + 1;
+        }
+        for (Enquiry enquiry : unnumbered) {
+            enquiry.setEnquiryId(nextId);
+            enquiriesById.put(nextId++, enquiry);
         }
+        for (Enquiry enquiry : getAllEnquiries()) {
+            index(enquiry); // in ID order, so the unanswered queues start oldest first
+        }
+
+        version++;
+        clearChanges(); // freshly loaded data matches the file
+        structuralChange = !unnumbered.isEmpty();
     }
 
     /**
     * Adds a new enquiry to the registry.
+    * IDs come from a counter that only increases, so they never collide with or reuse an existing ID.
     *
     * @param e The enquiry to add.
     */
-    public static void addEnquiry(Enquiry e) {
-        e.setEnquiryId(enquiryList.size() + 1); // set sequential id
-        enquiryList.add(e);
+    public static synchronized void addEnquiry(Enquiry e) {
+        e.setEnquiryId(nextId);
+        enquiriesById.put(nextId++, e);
+        index(e);
+        markDirty(e);
     }
 
     /**
     * Retrieves all enquiries currently stored in the registry.
     *
-    * @return A new list containing all enquiries.
+    * @return A new list containing all enquiries, in ID order.
     */
-    public static List<Enquiry> getAllEnquiries() {
-        return new ArrayList<>(enquiryList);
+    public static synchronized List<Enquiry> getAllEnquiries() {
+        return enquiriesById.values();
     }
 
     /**
@@ -54,14 +104,9 @@ public class EnquiryRegistry {
     * @param nric The NRIC of the applicant.
     * @return A list of enquiries made by the applicant.
     */
-    public static List<Enquiry> getEnquiriesByUser(String nric) {
-        List<Enquiry> result = new ArrayList<>();
-        for (Enquiry e : enquiryList) {
-            if (e.getSenderNRIC().equals(nric)) {
-                result.add(e);
-            }
-        }
-        return result;
+    public static synchronized List<Enquiry> getEnquiriesByUser(String nric) {
+        Set<Enquiry> enquiries = bySender.get(nric);
+        return enquiries == null ? new ArrayList<>() : new ArrayList<>(enquiries);
     }
 
     /**
@@ -70,14 +115,43 @@ public class EnquiryRegistry {
     * @param projectName The name of the project.
     * @return A list of enquiries about the given project.
     */
-    public static List<Enquiry> getEnquiriesByProject(String projectName) {
-        List<Enquiry> result = new ArrayList<>();
-        for (Enquiry e : enquiryList) {
-            if (e.getProjectName().equalsIgnoreCase(projectName)) {
-                result.add(e);
+    public static synchronized List<Enquiry> getEnquiriesByProject(String projectName) {
+        Set<Enquiry> enquiries = byProject.get(projectKey(projectName));
+        return enquiries == null ? new ArrayList<>() : new ArrayList<>(enquiries);
+    }
+
+    /**
+    * Retrieves the enquiries for a project that have not been replied to yet, oldest first.
+    *
+    * @param projectName The name of the project.
+    * @return A list of unanswered enquiries about the given project.
+    */
+    public static synchronized List<Enquiry> getUnansweredByProject(String projectName) {
+        Set<Enquiry> enquiries = unansweredByProject.get(projectKey(projectName));
+        return enquiries == null ? new ArrayList<>() : new ArrayList<>(enquiries);
+    }
+
+    /**
+    * Updates the unanswered queue after an enquiry's reply changes.
+    * Called by {@link Enquiry#reply}; unregistered enquiries are ignored.
+    *
+    * @param enquiry The enquiry that was replied to.
+    */
+    static synchronized void replyChanged(Enquiry enquiry) {
+        if (getById(enquiry.getEnquiryId()) != enquiry) return;
+        if (isUnanswered(enquiry)) {
+            // Re-queue by ID so a cleared reply returns to its original place in line
+            Set<Enquiry> queue = unansweredByProject.computeIfAbsent(projectKey(enquiry.getProjectName()), k -> new LinkedHashSet<>());
+            if (queue.add(enquiry)) {
+                List<Enquiry> ordered = new ArrayList<>(queue);
+                ordered.sort(Comparator.comparingInt(Enquiry::getEnquiryId));
+                queue.clear();
+                queue.addAll(ordered);
             }
+        } else {
+            Set<Enquiry> queue = unansweredByProject.get(projectKey(enquiry.getProjectName()));
+            if (queue != null) queue.remove(enquiry);
         }
-        return result;
     }
 
     /**
@@ -86,42 +160,127 @@ public class EnquiryRegistry {
     * @param id The ID of the enquiry.
     * @return The matching enquiry, or null if not found.
     */
-    public static Enquiry getById(int id) {
-        for (Enquiry e : enquiryList) {
-            if (e.getEnquiryId() == id) return e;
-        }
-        return null;
+    public static synchronized Enquiry getById(int id) {
+        return enquiriesById.get(id);
     }
 
     /**
     * Deletes an enquiry by its ID if it belongs to the specified sender.
+    * Other enquiries keep their IDs.
     *
     * @param id The ID of the enquiry to delete.
     * @param senderNRIC The NRIC of the sender for validation.
     * @return True if the enquiry was found and deleted; false otherwise.
     */
-    public static boolean deleteById(int id, String senderNRIC) {
-        boolean deleted = false;
-
-        // Delete the matching enquiry
-        Iterator<Enquiry> it = enquiryList.iterator();
-        while (it.hasNext()) {
-            Enquiry e = it.next();
-            if (e.getEnquiryId() == id && e.getSenderNRIC().equals(senderNRIC)) {
-                it.remove();
-                deleted = true;
-                break;
-            }
+    public static synchronized boolean deleteById(int id, String senderNRIC) {
+        Enquiry e = getById(id);
+        if (e == null || !e.getSenderNRIC().equals(senderNRIC)) return false;
+
+        enquiriesById.remove(id);
+        unindex(e);
+        dirtyEnquiries.remove(e);
+        version++;
+        structuralChange = true; // a row is removed, so the sheet is rewritten
+        return true;
+    }
+
+    private static void index(Enquiry e) {
+        bySender.computeIfAbsent(e.getSenderNRIC(), k -> new LinkedHashSet<>()).add(e);
+        byProject.computeIfAbsent(projectKey(e.getProjectName()), k -> new LinkedHashSet<>()).add(e);
+        if (isUnanswered(e)) {
+            unansweredByProject.computeIfAbsent(projectKey(e.getProjectName()), k -> new LinkedHashSet<>()).add(e);
         }
+    }
 
-        // Shift enquiry IDs if deletion happened
-        if (deleted) {
-            int newId = 1;
-            for (Enquiry e : enquiryList) {
-                e.setEnquiryId(newId++); // update IDs to be sequential
-            }
+    private static void unindex(Enquiry e) {
+        Set<Enquiry> sent = bySender.get(e.getSenderNRIC());
+        if (sent != null) sent.remove(e);
+        Set<Enquiry> project = byProject.get(projectKey(e.getProjectName()));
+        if (project != null) project.remove(e);
+        Set<Enquiry> unanswered = unansweredByProject.get(projectKey(e.getProjectName()));
+        if (unanswered != null) unanswered.remove(e);
+    }
+
+    private static boolean isUnanswered(Enquiry e) {
+        return !e.hasReply() || e.getReply().isEmpty();
+    }
+
+    private static String projectKey(String projectName) {
+        return projectName == null ? "" : projectName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+    * Records that an enquiry in the registry was added or modified.
+    * Enquiries that are not registered are ignored.
+    *
+    * @param enquiry The enquiry that changed.
+    */
+    static synchronized void markDirty(Enquiry enquiry) {
+        if (getById(enquiry.getEnquiryId()) != enquiry) return;
+        version++;
+        dirtyEnquiries.add(enquiry);
+    }
+
+    /**
+    * Returns a counter that increases on every change to the registry or its enquiries.
+    *
+    * @return The current modification count.
+    */
+    public static synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+    * Checks whether anything changed since the last save.
+    *
+    * @return True if there are unsaved changes.
+    */
+    public static synchronized boolean hasChanges() {
+        return structuralChange || !dirtyEnquiries.isEmpty();
+    }
+
+    /**
+    * Checks whether an enquiry was deleted since the last save, which requires a full rewrite.
+    *
+    * @return True if enquiries were removed or given new IDs on load.
+    */
+    public static synchronized boolean hasStructuralChange() {
+        return structuralChange;
+    }
+
+    /**
+    * Takes the changes made since the last save and starts recording afresh, in one step.
+    * Changes made after this call are kept for the next save.
+    *
+    * @return The enquiries added or modified, in change order, and whether any were deleted or renumbered.
+    */
+    public static synchronized Registries.Changes<Enquiry> takeChanges() {
+        Registries.Changes<Enquiry> changes = new Registries.Changes<>(dirtyEnquiries, structuralChange);
+        clearChanges();
+        return changes;
+    }
+
+    /**
+    * Puts back changes taken by {@link #takeChanges()} whose save failed, so the next save retries them.
+    * Enquiries deleted in the meantime are skipped.
+    *
+    * @param changes The changes that were not saved.
+    */
+    public static synchronized void restoreChanges(Registries.Changes<Enquiry> changes) {
+        Set<Enquiry> dirty = new LinkedHashSet<>();
+        for (Enquiry enquiry : changes.getItems()) {
+            if (getById(enquiry.getEnquiryId()) == enquiry) dirty.add(enquiry);
         }
+        dirty.addAll(dirtyEnquiries);
+        dirtyEnquiries = dirty;
+        structuralChange |= changes.isStructural();
+    }
 
-        return deleted;
+    /**
+    * Marks the registry as saved.
+    */
+    public static synchronized void clearChanges() {
+        dirtyEnquiries = new LinkedHashSet<>();
+        structuralChange = false;
     }
 }
@@ -1,10 +1,21 @@
 package model;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import util.CompiledFilter;
+
 /**
 * Represents a flat type available in a BTO project.
 * 
 * Stores unit availability, price, and flat category (e.g., "2-Room", "3-Room").
 * Provides utility methods to manage bookings and cancellations.
+* <p>
+* Inventory is kept in a single atomic counter holding both the remaining (unbooked) units
+* and the units reserved for successful applications. Every change is a compare-and-set on
+* that counter, so concurrent sessions can never reserve or book more units than remain:
+* {@link #reserve()} holds a unit when an application is approved, {@link #confirm()} books it
+* when the flat is assigned, and {@link #release()} returns it if the applicant withdraws first.
+* Only remaining units are persisted; reservations are rebuilt from successful applications on load.
 * 
 * Used by the {@code Project} class to represent flat distributions.
 * 
@@ -13,9 +24,11 @@ package model;
 */
 public class FlatType {
     private String type; // "2-Room" or "3-Room"
-    private int totalUnits;
-    private int remainingUnits;
+    private final String key; // trimmed, lower-cased type, compared against compiled filters
+    private volatile int totalUnits;
+    private final AtomicLong units = new AtomicLong(); // remaining units (high half) and reserved units (low half)
     private int price;
+    private Project owner; // project offering this flat type, notified of changes
 
     /**
     * Constructs a flat type with its configuration.
@@ -26,9 +39,10 @@ public class FlatType {
     */
     public FlatType(String type, int totalUnits, int price) {
         this.type = type;
+        this.key = type == null ? "" : CompiledFilter.lower(type.trim());
         this.totalUnits = totalUnits;
         this.price = price;
-        this.remainingUnits = totalUnits;
+        this.units.set(pack(totalUnits, 0));
     }
 
     /**
@@ -40,6 +54,15 @@ public class FlatType {
         return type;
     }
 
+    /**
+    * Gets the flat type name normalized the way {@link CompiledFilter} normalizes criteria.
+    *
+    * @return The trimmed, lower-cased type (e.g., "2-room").
+    */
+    public String getKey() {
+        return key;
+    }
+
     /**
     * Gets the total number of units for this flat type.
     *
@@ -56,6 +79,7 @@ public class FlatType {
     */
     public void setTotalUnits(int totalUnits) {
         this.totalUnits = totalUnits;
+        changed();
     }
 
     /**
@@ -64,16 +88,36 @@ public class FlatType {
     * @return The number of remaining units.
     */
     public int getRemainingUnits() {
-        return remainingUnits;
+        return remaining(units.get());
     }
 
     /**
-    * Updates the number of available units.
+    * Updates the number of available units. Reservations are kept.
     *
     * @param remainingUnits New count of remaining units.
     */
     public void setRemainingUnits(int remainingUnits) {
-        this.remainingUnits = remainingUnits;
+        units.updateAndGet(u -> pack(remainingUnits, reserved(u)));
+        changed();
+    }
+
+    /**
+    * Gets the number of units held for successful applications that have not booked yet.
+    *
+    * @return The number of reserved units.
+    */
+    public int getReservedUnits() {
+        return reserved(units.get());
+    }
+
+    /**
+    * Gets the number of units that can still be reserved.
+    *
+    * @return Remaining units minus reserved units.
+    */
+    public int getAvailableUnits() {
+        long u = units.get();
+        return remaining(u) - reserved(u);
     }
 
     /**
@@ -92,6 +136,7 @@ public class FlatType {
     */
     public void setPrice(int price) {
         this.price = price;
+        changed();
     }
 
     /**
@@ -100,23 +145,119 @@ public class FlatType {
     * @return True if remaining units > 0.
     */
     public boolean isAvailable() {
-        return remainingUnits > 0;
+        return getRemainingUnits() > 0;
     }
 
     /**
-    * Books one unit of this flat type.
-    * Decrements remaining units if available.
+    * Books one unit of this flat type without a prior reservation.
+    * Only units that are neither booked nor reserved can be taken.
+    *
+    * @return True if a unit was booked; false if none are available.
     */
-    public void bookUnit() {
-        if (remainingUnits > 0) {
-            remainingUnits--;
+    public boolean bookUnit() {
+        while (true) {
+            long u = units.get();
+            if (remaining(u) - reserved(u) <= 0) return false;
+            if (units.compareAndSet(u, pack(remaining(u) - 1, reserved(u)))) break;
         }
+        changed();
+        return true;
     }
 
     /**
-    * Cancels one booking, returns available units.
+    * Cancels one booking, returning the unit to the pool.
+    * Remaining units never exceed the total.
+    *
+    * @return True if a unit was returned; false if no units are booked.
     */
-    public void cancelBooking() {
-        remainingUnits++;
+    public boolean cancelBooking() {
+        while (true) {
+            long u = units.get();
+            if (remaining(u) >= totalUnits) return false;
+            if (units.compareAndSet(u, pack(remaining(u) + 1, reserved(u)))) break;
+        }
+        changed();
+        return true;
+    }
+
+    /**
+    * Holds one unit for an approved application, if any unit is neither booked nor reserved.
+    *
+    * @return True if a unit was reserved; false if none are available.
+    */
+    public boolean reserve() {
+        while (true) {
+            long u = units.get();
+            if (remaining(u) - reserved(u) <= 0) return false;
+            if (units.compareAndSet(u, pack(remaining(u), reserved(u) + 1))) return true;
+        }
+    }
+
+    /**
+    * Turns a reservation into a booking, taking the unit out of the remaining count.
+    *
+    * @return True if a reserved unit was booked; false if there is no reservation or no unit left.
+    */
+    public boolean confirm() {
+        while (true) {
+            long u = units.get();
+            if (reserved(u) <= 0 || remaining(u) <= 0) return false;
+            if (units.compareAndSet(u, pack(remaining(u) - 1, reserved(u) - 1))) break;
+        }
+        changed();
+        return true;
+    }
+
+    /**
+    * Gives up a reservation without booking, making the unit available again.
+    *
+    * @return True if a reservation was released; false if there were none.
+    */
+    public boolean release() {
+        while (true) {
+            long u = units.get();
+            if (reserved(u) <= 0) return false;
+            if (units.compareAndSet(u, pack(remaining(u), reserved(u) - 1))) return true;
+        }
+    }
+
+    /**
+    * Records a reservation for an application loaded as successful. Unlike {@link #reserve()}
+    * this always succeeds, since the approval already happened.
+    */
+    void restoreReservation() {
+        units.updateAndGet(u -> pack(remaining(u), reserved(u) + 1));
+    }
+
+    /**
+    * Drops all reservations, before they are rebuilt from the loaded applications.
+    */
+    void clearReservations() {
+        units.updateAndGet(u -> pack(remaining(u), 0));
+    }
+
+    private static long pack(int remaining, int reserved) {
+        return ((long) remaining << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int remaining(long units) {
+        return (int) (units >> 32);
+    }
+
+    private static int reserved(long units) {
+        return (int) units;
+    }
+
+    /**
+    * Links this flat type to the project offering it, so changes mark the project as modified.
+    *
+    * @param owner The owning project.
+    */
+    void setOwner(Project owner) {
+        this.owner = owner;
+    }
+
+    private void changed() {
+        if (owner != null) ProjectRegistry.markDirty(owner);
     }
 }
@@ -113,7 +113,8 @@ public class HDBOfficer extends Applicant{
     * @param status The status to set (PENDING, APPROVED, etc.).
     */
     public void setRegistrationStatus(String projectName, RegistrationStatus status) {
-        registrationStatus.put(projectName, status);
+        RegistrationStatus oldStatus = registrationStatus.put(projectName, status);
+        OfficerRegistry.update(this, projectName, oldStatus, status);
     }
 
     /**
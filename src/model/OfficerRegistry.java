@@ -0,0 +1,85 @@
+package model;
+
+import java.util.*;
+
+/**
+* Index of officer project registrations, grouped by project and registration status.
+*
+* Rebuilt from the loaded officers by {@link #loadOfficers} whenever data is loaded, and kept up to date
+* by {@link HDBOfficer#setRegistrationStatus}, so managers can list the officers
+* waiting on (or approved for) a project without scanning every user in the system.
+* Every operation holds the registry's lock, so sessions sharing it always see whole moves between buckets.
+*
+* @author Javier
+* @version 1.0
+*/
+public class OfficerRegistry {
+    private static final Map<String, Map<HDBOfficer.RegistrationStatus, Set<HDBOfficer>>> registrations = new LinkedHashMap<>();
+
+    /**
+    * Moves an officer into the bucket for their new registration status on a project.
+    *
+    * @param officer The officer whose registration changed.
+    * @param projectName The project the registration is for.
+    * @param oldStatus The previous status, or null if the officer had not registered.
+    * @param newStatus The new status.
+    */
+    static synchronized void update(HDBOfficer officer, String projectName, HDBOfficer.RegistrationStatus oldStatus, HDBOfficer.RegistrationStatus newStatus) {
+        Map<HDBOfficer.RegistrationStatus, Set<HDBOfficer>> byStatus =
+            registrations.computeIfAbsent(projectName, k -> new EnumMap<>(HDBOfficer.RegistrationStatus.class));
+
+        if (oldStatus != null) {
+            Set<HDBOfficer> old = byStatus.get(oldStatus);
+            if (old != null) old.remove(officer);
+        }
+        if (newStatus != null) {
+            byStatus.computeIfAbsent(newStatus, k -> new LinkedHashSet<>()).add(officer);
+        }
+    }
+
+    /**
+    * Retrieves the officers whose registration for a project has the given status.
+    *
+    * @param projectName The name of the project.
+    * @param status The registration status to match.
+    * @return The matching officers, in registration order.
+    */
+    public static synchronized List<HDBOfficer> getOfficers(String projectName, HDBOfficer.RegistrationStatus status) {
+        Map<HDBOfficer.RegistrationStatus, Set<HDBOfficer>> byStatus = registrations.get(projectName);
+        if (byStatus == null) return new ArrayList<>();
+        Set<HDBOfficer> officers = byStatus.get(status);
+        return officers == null ? new ArrayList<>() : new ArrayList<>(officers);
+    }
+
+    /**
+    * Retrieves every project registration with the given status.
+    *
+    * @param status The registration status to match.
+    * @return A map of project name to the matching officers, containing only non-empty entries.
+    */
+    public static synchronized Map<String, List<HDBOfficer>> getRegistrationsByStatus(HDBOfficer.RegistrationStatus status) {
+        Map<String, List<HDBOfficer>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<HDBOfficer.RegistrationStatus, Set<HDBOfficer>>> entry : registrations.entrySet()) {
+            Set<HDBOfficer> officers = entry.getValue().get(status);
+            if (officers != null && !officers.isEmpty()) {
+                result.put(entry.getKey(), new ArrayList<>(officers));
+            }
+        }
+        return result;
+    }
+
+    /**
+    * Replaces the index with the registrations held by the given officers.
+    * Called when data is loaded, so officers from an earlier load are no longer listed.
+    *
+    * @param officers The loaded officers.
+    */
+    public static synchronized void loadOfficers(List<HDBOfficer> officers) {
+        registrations.clear();
+        for (HDBOfficer officer : officers) {
+            for (Map.Entry<String, HDBOfficer.RegistrationStatus> entry : officer.getAllRegistrations().entrySet()) {
+                update(officer, entry.getKey(), null, entry.getValue());
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package model;
 import java.time.LocalDate;
 import java.util.*;
 
+import util.CompiledFilter;
 import util.Filter;
 import util.ISearchable;
 
@@ -63,7 +64,10 @@ public class Project implements ISearchable{
     * @param price Price per unit.
     */
     public void addFlatType(String type, int totalUnits, int price) {
-        flatTypes.put(type, new FlatType(type, totalUnits, price));
+        FlatType flatType = new FlatType(type, totalUnits, price);
+        flatType.setOwner(this);
+        flatTypes.put(type, flatType);
+        ProjectRegistry.markDirty(this);
     }
 
     /**
@@ -110,6 +114,7 @@ public class Project implements ISearchable{
     */
     public void setNeighborhood(String neighborhood) {
         this.neighborhood = neighborhood;
+        ProjectRegistry.markDirty(this);
     }
 
     /**
@@ -128,6 +133,8 @@ public class Project implements ISearchable{
     */
     public void setOpenDate(LocalDate openDate) {
         this.openDate = openDate;
+        ProjectWindowIndex.moved(this);
+        ProjectRegistry.markDirty(this);
     }
 
     /**
@@ -146,6 +153,8 @@ public class Project implements ISearchable{
     */
     public void setCloseDate(LocalDate closeDate) {
         this.closeDate = closeDate;
+        ProjectWindowIndex.moved(this);
+        ProjectRegistry.markDirty(this);
     }
 
     /**
@@ -164,6 +173,7 @@ public class Project implements ISearchable{
     */
     public void setVisibility(boolean visible) {
         this.visibility = visible;
+        ProjectRegistry.markDirty(this);
     }
 
     /**
@@ -182,6 +192,7 @@ public class Project implements ISearchable{
     */
     public void setMaxOfficerSlots(int maxOfficerSlots) {
         this.maxOfficerSlots = maxOfficerSlots;
+        ProjectRegistry.markDirty(this);
     }
 
     /**
@@ -236,6 +247,7 @@ public class Project implements ISearchable{
         if (officerName != null && !officerName.trim().isEmpty() && hasAvailableOfficerSlot()) {
             officerList.add(officerName.trim());
             currentOfficerSlots++;
+            ProjectRegistry.markDirty(this);
         }
     }
     
@@ -247,28 +259,39 @@ public class Project implements ISearchable{
     */
     @Override
     public boolean matches(Filter filter) {
-        if (filter.getNeighbourhood() != null &&
-            filter.getNeighbourhood().stream().noneMatch(
-                n -> n.equalsIgnoreCase(this.neighborhood))) {
+        return matches(CompiledFilter.compile(filter));
+    }
+
+    /**
+    * Determines whether this project satisfies a compiled filter.
+    * Checks the neighbourhood first, then flat type availability, then price.
+    *
+    * @param filter The compiled filtering criteria.
+    * @return True if the project matches the filter; false otherwise.
+    */
+    @Override
+    public boolean matches(CompiledFilter filter) {
+        if (filter.getNeighbourhoods() != null &&
+            (neighborhood == null || !filter.getNeighbourhoods().contains(CompiledFilter.lower(neighborhood)))) {
             return false;
         }
 
-        if (filter.getFlatType() != null) {
-            boolean hasMatchingAndAvailableFlatType = flatTypes.entrySet().stream()
-                .anyMatch(entry ->
-                    entry.getKey().trim().equalsIgnoreCase(filter.getFlatType().trim()) &&
-                    entry.getValue().getRemainingUnits() > 0
-                );
-        
+        if (filter.getFlatTypeTrimmed() != null) {
+            boolean hasMatchingAndAvailableFlatType = false;
+            for (FlatType ft : flatTypes.values()) {
+                if (ft.getRemainingUnits() > 0 && ft.getKey().equals(filter.getFlatTypeTrimmed())) {
+                    hasMatchingAndAvailableFlatType = true;
+                    break;
+                }
+            }
+
             if (!hasMatchingAndAvailableFlatType) return false;
         }
 
-        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+        if (filter.hasPrice()) {
             boolean hasMatchingFlat = false;
-            for (FlatType ft : this.getFlatTypes().values()) {
-                int price = ft.getPrice();
-                if ((filter.getMinPrice() == null || price >= filter.getMinPrice()) &&
-                    (filter.getMaxPrice() == null || price <= filter.getMaxPrice())) {
+            for (FlatType ft : flatTypes.values()) {
+                if (filter.priceInRange(ft.getPrice())) {
                     hasMatchingFlat = true;
                     break;
                 }
@@ -1,20 +1,37 @@
 package model;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
 * Registry for storing and retrieving BTO projects by name.
 * 
+* Projects are keyed by their normalized name (trimmed, lower case), so every lookup,
+* existence check and removal is constant-time and ignores case in the same way.
+* 
 * Provides static methods to manage the project collection in memory, including
 * loading, filtering, retrieval, and validation utilities.
 * 
 * This registry is used globally by managers, officers, and applicants to access projects.
 * 
+* In concurrent mode (see {@link Registries}) lookups go to a concurrent map, additions and
+* removals hold the lock for the project name, and readers get an immutable list of the
+* projects in registration order, replaced on every addition or removal.
+* 
 * @author Javier
 * @version 1.0
 */
 public class ProjectRegistry {
-    private static final Map<String, Project> projectMap = new HashMap<>();
+    private static volatile Map<String, Project> projectMap = newProjectMap(); // normalized name -> project
+    private static volatile List<Project> ordered = List.of(); // concurrent mode only: projects in registration order
+
+    // Change tracking since the last save
+    private static final AtomicLong version = new AtomicLong();
+    private static final Object changeLock = new Object(); // guards the two fields below
+    private static Set<Project> dirtyProjects = new LinkedHashSet<>();
+    private static boolean structuralChange = false;
 
     /**
     * Loads the given list of projects into the registry.
@@ -23,19 +40,40 @@ public class ProjectRegistry {
     * @param projects The list of projects to load.
     */
     public static void loadProjects(List<Project> projects) {
-        projectMap.clear();
+        Map<String, Project> map = newProjectMap();
+        ProjectWindowIndex.clear();
         for (Project p : projects) {
-            projectMap.put(p.getName(), p);
+            Project replaced = map.put(key(p.getName()), p);
+            if (replaced != null) ProjectWindowIndex.remove(replaced);
+            ProjectWindowIndex.add(p);
         }
+        store(map, projects);
+        version.incrementAndGet();
+        clearChanges(); // freshly loaded data matches the file
+    }
+
+    /**
+    * Moves the current contents into collections that match the registry mode, keeping
+    * the registration order and the unsaved changes. Called by {@link Registries#setConcurrentMode}.
+    */
+    static void reloadStorage() {
+        List<Project> projects = projectMap instanceof ConcurrentMap ? ordered : new ArrayList<>(projectMap.values());
+        Map<String, Project> map = newProjectMap();
+        for (Project p : projects) {
+            map.put(key(p.getName()), p);
+        }
+        store(map, projects);
+        version.incrementAndGet();
     }
 
     /**
     * Retrieves all projects currently stored in the registry.
+    * In concurrent mode the result is a snapshot that later changes do not affect.
     *
-    * @return A collection of all projects.
+    * @return A read-only collection of all projects, in registration order.
     */
     public static Collection<Project> getAllProjects() {
-        return projectMap.values();
+        return Registries.isConcurrent() ? ordered : Collections.unmodifiableCollection(projectMap.values());
     }
 
     /**
@@ -45,12 +83,8 @@ public class ProjectRegistry {
     * @return The matching project, or null if not found.
     */
     public static Project getProjectByName(String name) {
-        for (Project p : projectMap.values()) {
-            if (p.getName().equalsIgnoreCase(name.trim())) {
-                return p;
-            }
-        }
-        return null;
+        if (name == null) return null;
+        return projectMap.get(key(name));
     }
 
     /**
@@ -61,7 +95,7 @@ public class ProjectRegistry {
     */
     public static List<Project> filterByVisibility(boolean visibleOnly) {
         List<Project> result = new ArrayList<>();
-        for (Project project : projectMap.values()) {
+        for (Project project : getAllProjects()) {
             if (!visibleOnly || project.isVisible()) {
                 result.add(project);
             }
@@ -75,26 +109,61 @@ public class ProjectRegistry {
     * @param project The project to add.
     */
     public static void addProject(Project project) {
-        projectMap.put(project.getName(), project);
+        String key = key(project.getName());
+        Registries.withLock(key, () -> {
+            Project replaced = projectMap.put(key, project);
+            if (replaced != null) ProjectWindowIndex.remove(replaced);
+            ProjectWindowIndex.add(project);
+            publish(replaced, project);
+            markDirty(project);
+        });
     }
 
     /**
-    * Removes a project from the registry by name.
+    * Adds a new project unless one with the same name (ignoring case) is already registered.
+    * The check and the addition happen under the lock for the name, so two managers cannot
+    * create the same project at once.
+    *
+    * @param project The project to add.
+    * @return True if the project was added; false if the name is taken.
+    */
+    public static boolean addProjectIfAbsent(Project project) {
+        return Registries.withLock(key(project.getName()), () -> {
+            if (exists(project.getName())) return false;
+            addProject(project);
+            return true;
+        });
+    }
+
+    /**
+    * Removes a project from the registry by name (case-insensitive).
     *
     * @param projectName The name of the project to remove.
     */
     public static void removeProject(String projectName) {
-        projectMap.remove(projectName);
+        if (projectName == null) return;
+        String key = key(projectName);
+        Registries.withLock(key, () -> {
+            Project removed = projectMap.remove(key);
+            if (removed != null) {
+                ProjectWindowIndex.remove(removed);
+                publish(removed, null);
+                version.incrementAndGet();
+                synchronized (changeLock) {
+                    structuralChange = true; // rows must be removed, so the sheet is rewritten
+                }
+            }
+        });
     }
 
     /**
-    * Checks if a project exists in the registry by name.
+    * Checks if a project exists in the registry by name (case-insensitive).
     *
     * @param projectName The name to check.
     * @return True if the project exists; false otherwise.
     */
     public static boolean exists(String projectName) {
-        return projectMap.containsKey(projectName);
+        return projectName != null && projectMap.containsKey(key(projectName));
     }
 
     /**
@@ -104,11 +173,147 @@ public class ProjectRegistry {
     * @return The normalized project name if found; otherwise returns the input name.
     */
     public static String getNormalizedProjectName(String inputName) {
-        for (Project p : projectMap.values()) {
-            if (p.getName().equalsIgnoreCase(inputName.trim())) {
-                return p.getName(); // returns the correct canonical name (e.g., "Acacia Breeze")
-            }
+        Project p = getProjectByName(inputName);
+        if (p != null) {
+            return p.getName(); // returns the correct canonical name (e.g., "Acacia Breeze")
         }
         return inputName; // fallback
     }
+
+    /**
+    * Records that a project in the registry was added or modified.
+    * Projects that are not (or no longer) registered are ignored.
+    *
+    * @param project The project that changed.
+    */
+    static void markDirty(Project project) {
+        if (projectMap.get(key(project.getName())) != project) return;
+        version.incrementAndGet();
+        synchronized (changeLock) {
+            dirtyProjects.add(project);
+        }
+    }
+
+    /**
+    * Returns a counter that increases on every change to the registry or its projects.
+    *
+    * @return The current modification count.
+    */
+    public static long getVersion() {
+        return version.get();
+    }
+
+    /**
+    * Checks whether anything changed since the last save.
+    *
+    * @return True if there are unsaved changes.
+    */
+    public static boolean hasChanges() {
+        synchronized (changeLock) {
+            return structuralChange || !dirtyProjects.isEmpty();
+        }
+    }
+
+    /**
+    * Checks whether a project was removed since the last save, which requires a full rewrite.
+    *
+    * @return True if the set of projects shrank.
+    */
+    public static boolean hasStructuralChange() {
+        synchronized (changeLock) {
+            return structuralChange;
+        }
+    }
+
+    /**
+    * Takes the changes made since the last save and starts recording afresh, in one step.
+    * Changes made after this call are kept for the next save.
+    *
+    * @return The projects added or modified, in change order, and whether any were removed.
+    */
+    public static Registries.Changes<Project> takeChanges() {
+        synchronized (changeLock) {
+            Registries.Changes<Project> changes = new Registries.Changes<>(dirtyProjects, structuralChange);
+            dirtyProjects = new LinkedHashSet<>();
+            structuralChange = false;
+            return changes;
+        }
+    }
+
+    /**
+    * Puts back changes taken by {@link #takeChanges()} whose save failed, so the next save retries them.
+    * Projects removed in the meantime are skipped.
+    *
+    * @param changes The changes that were not saved.
+    */
+    public static void restoreChanges(Registries.Changes<Project> changes) {
+        synchronized (changeLock) {
+            Set<Project> dirty = new LinkedHashSet<>();
+            for (Project project : changes.getItems()) {
+                if (projectMap.get(key(project.getName())) == project) dirty.add(project);
+            }
+            dirty.addAll(dirtyProjects);
+            dirtyProjects = dirty;
+            structuralChange |= changes.isStructural();
+        }
+    }
+
+    /**
+    * Marks the registry as saved.
+    */
+    public static void clearChanges() {
+        synchronized (changeLock) {
+            dirtyProjects = new LinkedHashSet<>();
+            structuralChange = false;
+        }
+    }
+
+    private static Map<String, Project> newProjectMap() {
+        return Registries.isConcurrent() ? new ConcurrentHashMap<>() : new LinkedHashMap<>();
+    }
+
+    /**
+    * Installs freshly built storage, along with the ordered list readers see in concurrent mode.
+    */
+    private static void store(Map<String, Project> map, Collection<Project> projects) {
+        Map<String, Project> byName = new LinkedHashMap<>(); // a later duplicate takes the earlier one's place, as in the map
+        for (Project p : projects) {
+            byName.put(key(p.getName()), p);
+        }
+        synchronized (ProjectRegistry.class) {
+            projectMap = map;
+            ordered = Registries.isConcurrent() ? List.copyOf(byName.values()) : List.of();
+        }
+    }
+
+    /**
+    * Updates the ordered list readers see in concurrent mode after a project is added, replaced or removed.
+    * A replacement keeps the position of the project it replaces.
+    *
+    * @param old The project that left the registry, or null.
+    * @param added The project that joined the registry, or null.
+    */
+    private static synchronized void publish(Project old, Project added) {
+        if (!Registries.isConcurrent()) return;
+
+        List<Project> next = new ArrayList<>(ordered);
+        int index = old == null ? -1 : next.indexOf(old);
+        if (index >= 0 && added != null) {
+            next.set(index, added);
+        } else {
+            if (index >= 0) next.remove(index);
+            if (added != null) next.add(added);
+        }
+        ordered = List.copyOf(next);
+    }
+
+    /**
+    * Normalizes a project name into its registry key.
+    *
+    * @param name The project name as entered or stored.
+    * @return The trimmed, lower-case key.
+    */
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,242 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+* Index of project application windows ({@code openDate} to {@code closeDate}, inclusive).
+* <p>
+* Answers "which projects are open on a date" from a centered interval tree, and
+* "which projects open next" from a map sorted by open date, so neither query scans every project.
+* <p>
+* Kept up to date by {@link ProjectRegistry} as projects are added or removed, and by
+* {@link Project#setOpenDate} and {@link Project#setCloseDate} (used by the manager's
+* date updates) when a window moves. The interval tree is rebuilt on the next query after a change.
+* Results are returned in registration order.
+*
+* @author Javier
+* @version 1.0
+*/
+public class ProjectWindowIndex {
+    private static final Map<Project, Window> windows = new IdentityHashMap<>();
+    private static final TreeMap<LocalDate, Set<Project>> byOpenDate = new TreeMap<>();
+    private static long nextSequence = 0;
+    private static Node root = null;
+    private static boolean stale = false;
+
+    private static final class Window {
+        final LocalDate openDate;
+        final LocalDate closeDate;
+        final long sequence;
+
+        Window(LocalDate openDate, LocalDate closeDate, long sequence) {
+            this.openDate = openDate;
+            this.closeDate = closeDate;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+    * Node of the interval tree. Holds the windows that contain its center date, sorted
+    * by open date and by close date; windows entirely before or after go to the children.
+    */
+    private static final class Node {
+        final LocalDate center;
+        final Project[] byOpen;  // ascending open date
+        final Project[] byClose; // descending close date
+        Node left;
+        Node right;
+
+        Node(LocalDate center, Project[] byOpen, Project[] byClose) {
+            this.center = center;
+            this.byOpen = byOpen;
+            this.byClose = byClose;
+        }
+    }
+
+    /**
+    * Adds a project using its current dates. Projects without both dates are not indexed.
+    *
+    * @param project The project to add.
+    */
+    static synchronized void add(Project project) {
+        if (windows.containsKey(project)) remove(project);
+        if (project.getOpenDate() == null || project.getCloseDate() == null) return;
+
+        Window window = new Window(project.getOpenDate(), project.getCloseDate(), nextSequence++);
+        windows.put(project, window);
+        byOpenDate.computeIfAbsent(window.openDate, k -> new LinkedHashSet<>()).add(project);
+        stale = true;
+    }
+
+    /**
+    * Removes a project from the index.
+    *
+    * @param project The project to remove.
+    */
+    static synchronized void remove(Project project) {
+        Window window = windows.remove(project);
+        if (window == null) return;
+
+        removeFrom(byOpenDate, window.openDate, project);
+        stale = true;
+    }
+
+    /**
+    * Re-indexes a project after its open or close date changed.
+    * Projects that are not indexed are ignored.
+    *
+    * @param project The project whose window moved.
+    */
+    static synchronized void moved(Project project) {
+        Window window = windows.get(project);
+        if (window == null) return;
+        if (window.openDate.equals(project.getOpenDate()) && window.closeDate.equals(project.getCloseDate())) return;
+
+        remove(project);
+        if (project.getOpenDate() == null || project.getCloseDate() == null) return;
+
+        Window moved = new Window(project.getOpenDate(), project.getCloseDate(), window.sequence); // keep its place in order
+        windows.put(project, moved);
+        byOpenDate.computeIfAbsent(moved.openDate, k -> new LinkedHashSet<>()).add(project);
+    }
+
+    /**
+    * Removes every project from the index.
+    */
+    static synchronized void clear() {
+        windows.clear();
+        byOpenDate.clear();
+        root = null;
+        stale = false;
+    }
+
+    /**
+    * Retrieves the projects whose application window includes the given date.
+    *
+    * @param date The date to check.
+    * @return The projects open on that date.
+    */
+    public static synchronized List<Project> getOpenOn(LocalDate date) {
+        if (stale) rebuild();
+
+        List<Project> result = new ArrayList<>();
+        Node node = root;
+        while (node != null) {
+            int cmp = date.compareTo(node.center);
+            if (cmp < 0) {
+                for (Project p : node.byOpen) {
+                    if (windows.get(p).openDate.isAfter(date)) break;
+                    result.add(p);
+                }
+                node = node.left;
+            } else if (cmp > 0) {
+                for (Project p : node.byClose) {
+                    if (windows.get(p).closeDate.isBefore(date)) break;
+                    result.add(p);
+                }
+                node = node.right;
+            } else {
+                result.addAll(Arrays.asList(node.byOpen));
+                break;
+            }
+        }
+        return inOrder(result);
+    }
+
+    /**
+    * Retrieves the projects with the earliest open date strictly after the given date.
+    *
+    * @param date The date to search from.
+    * @return The projects opening next; empty if none open after that date.
+    */
+    public static synchronized List<Project> getNextToOpenAfter(LocalDate date) {
+        Map.Entry<LocalDate, Set<Project>> next = byOpenDate.higherEntry(date);
+        return next == null ? new ArrayList<>() : inOrder(next.getValue());
+    }
+
+    /**
+    * Retrieves every project opening strictly after the given date, earliest first.
+    * Projects opening on the same date are in registration order.
+    *
+    * @param date The date to search from.
+    * @return The upcoming projects.
+    */
+    public static synchronized List<Project> getOpeningAfter(LocalDate date) {
+        List<Project> result = new ArrayList<>();
+        for (Set<Project> projects : byOpenDate.tailMap(date, false).values()) {
+            result.addAll(inOrder(projects));
+        }
+        return result;
+    }
+
+    /**
+    * Rebuilds the interval tree from the indexed windows.
+    */
+    private static void rebuild() {
+        List<Project> all = new ArrayList<>();
+        for (Map.Entry<Project, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            if (!window.closeDate.isBefore(window.openDate)) all.add(entry.getKey()); // inverted windows are never open
+        }
+        all.sort(Comparator.comparing(p -> windows.get(p).openDate));
+        root = build(all);
+        stale = false;
+    }
+
+    /**
+    * Builds a subtree centered on the median endpoint of the given windows,
+    * which keeps the tree depth logarithmic. The center is an endpoint of some window,
+    * so at least one window stays at each node.
+    *
+    * @param projects The projects to place, sorted by open date.
+    * @return The subtree root, or null if there are no projects.
+    */
+    private static Node build(List<Project> projects) {
+        if (projects.isEmpty()) return null;
+
+        List<LocalDate> endpoints = new ArrayList<>(projects.size() * 2);
+        for (Project p : projects) {
+            endpoints.add(windows.get(p).openDate);
+            endpoints.add(windows.get(p).closeDate);
+        }
+        Collections.sort(endpoints);
+        LocalDate center = endpoints.get(endpoints.size() / 2);
+
+        List<Project> left = new ArrayList<>();
+        List<Project> right = new ArrayList<>();
+        List<Project> overlapping = new ArrayList<>();
+        for (Project p : projects) {
+            Window window = windows.get(p);
+            if (window.closeDate.isBefore(center)) {
+                left.add(p);
+            } else if (window.openDate.isAfter(center)) {
+                right.add(p);
+            } else {
+                overlapping.add(p);
+            }
+        }
+
+        Project[] byOpen = overlapping.toArray(new Project[0]); // input is already sorted by open date
+        Project[] byClose = overlapping.toArray(new Project[0]);
+        Arrays.sort(byClose, Comparator.comparing((Project p) -> windows.get(p).closeDate).reversed());
+
+        Node node = new Node(center, byOpen, byClose);
+        node.left = build(left);
+        node.right = build(right);
+        return node;
+    }
+
+    private static void removeFrom(Map<LocalDate, Set<Project>> map, LocalDate date, Project project) {
+        Set<Project> projects = map.get(date);
+        if (projects == null) return;
+        projects.remove(project);
+        if (projects.isEmpty()) map.remove(date);
+    }
+
+    private static List<Project> inOrder(Collection<Project> projects) {
+        List<Project> result = new ArrayList<>(projects);
+        result.sort(Comparator.comparingLong(p -> windows.get(p).sequence));
+        return result;
+    }
+}
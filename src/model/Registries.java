@@ -0,0 +1,165 @@
+package model;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+* Selects how the registries store their data and guard their updates.
+* <p>
+* By default the registries use plain collections, as suits a single session per process.
+* In concurrent mode they use concurrent maps, mutations take a lock striped by key (so
+* updates to different applicants or projects do not wait on each other), index sets are
+* synchronized, and readers get copies instead of live collections. The enquiry and officer
+* registries and the project window index are small and always lock per operation.
+* <p>
+* The mode is chosen at startup, before sessions begin; switching reloads every registry
+* into the matching collections.
+*
+* @author Javier
+* @version 1.0
+*/
+public final class Registries {
+    private static final int STRIPES = 64;
+    private static final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private static volatile boolean concurrent = false;
+
+    static {
+        for (int i = 0; i < STRIPES; i++) locks[i] = new ReentrantLock();
+    }
+
+    private Registries() {}
+
+    /**
+    * Switches every registry to thread-safe storage so several sessions can share them.
+    */
+    public static void enableConcurrentMode() {
+        setConcurrentMode(true);
+    }
+
+    /**
+    * Selects concurrent or single-session storage, moving the current contents across.
+    *
+    * @param enabled True for concurrent storage; false for the default plain collections.
+    */
+    public static synchronized void setConcurrentMode(boolean enabled) {
+        if (concurrent == enabled) return;
+        concurrent = enabled;
+
+        ProjectRegistry.reloadStorage();
+        ApplicationRegistry.reloadStorage();
+    }
+
+    /**
+    * Checks whether the registries are in concurrent mode.
+    *
+    * @return True if concurrent storage is in use.
+    */
+    public static boolean isConcurrent() {
+        return concurrent;
+    }
+
+    /**
+    * Runs an update while holding the lock stripe for a key. In the default mode no lock is taken.
+    * Use it to make a check and the change that depends on it atomic, e.g. "no active application, so add one".
+    *
+    * @param key The key being updated, such as a normalized NRIC or project name.
+    * @param action The update to run.
+    * @return The result of the update.
+    */
+    public static <T> T withLock(Object key, Supplier<T> action) {
+        if (!concurrent) return action.get();
+
+        ReentrantLock lock = locks[Math.floorMod(Objects.hashCode(key), STRIPES)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+    * Runs an update while holding the lock stripe for a key. In the default mode no lock is taken.
+    *
+    * @param key The key being updated.
+    * @param action The update to run.
+    */
+    public static void withLock(Object key, Runnable action) {
+        withLock(key, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static <K, V> Map<K, V> newMap() {
+        return concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    static <E> Set<E> newOrderedSet() {
+        Set<E> set = new LinkedHashSet<>();
+        return concurrent ? Collections.synchronizedSet(set) : set;
+    }
+
+    static <E> List<E> newList() {
+        return concurrent ? new CopyOnWriteArrayList<>() : new ArrayList<>();
+    }
+
+    /**
+    * Copies a collection that may be updated concurrently. Synchronized collections are
+    * copied while holding their lock, as iterating them requires.
+    *
+    * @param items The collection to copy.
+    * @return A new list with the same items, in iteration order.
+    */
+    static <E> List<E> snapshot(Collection<E> items) {
+        synchronized (items) {
+            return new ArrayList<>(items);
+        }
+    }
+
+    /**
+    * The changes a registry recorded since its last save, taken in one step so that changes
+    * made while a save is running are kept for the next one.
+    *
+    * @param <E> The type of item that changed.
+    */
+    public static final class Changes<E> {
+        private final List<E> items;
+        private final boolean structural;
+
+        Changes(Collection<E> items, boolean structural) {
+            this.items = List.copyOf(items);
+            this.structural = structural;
+        }
+
+        /**
+        * Returns the items added or modified, in change order.
+        *
+        * @return An unmodifiable list of changed items.
+        */
+        public List<E> getItems() {
+            return items;
+        }
+
+        /**
+        * Checks whether items were removed, which requires the whole sheet to be rewritten.
+        *
+        * @return True if the change set includes a removal.
+        */
+        public boolean isStructural() {
+            return structural;
+        }
+
+        /**
+        * Checks whether there is nothing to save.
+        *
+        * @return True if no items changed and nothing was removed.
+        */
+        public boolean isEmpty() {
+            return items.isEmpty() && !structural;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import util.CompiledFilter;
+
 /**
 * Abstract base class representing a user in the Build-To-Order system.
 * 
@@ -17,6 +19,7 @@ public abstract class User {
     private String password;
     private int age;
     private String maritalStatus;
+    private final String maritalStatusKey; // lower-cased marital status, compared against compiled filters
 
     /**
     * Constructs a user with the given details.
@@ -33,6 +36,7 @@ public abstract class User {
         this.password = password;
         this.age = age;
         this.maritalStatus = maritalStatus;
+        this.maritalStatusKey = maritalStatus == null ? "" : CompiledFilter.lower(maritalStatus);
     }
 
     /**
@@ -89,6 +93,15 @@ public abstract class User {
         return maritalStatus;
     }
 
+    /**
+    * Returns the marital status normalized the way {@link CompiledFilter} normalizes criteria.
+    *
+    * @return The lower-cased marital status (e.g., "married").
+    */
+    public String getMaritalStatusKey() {
+        return maritalStatusKey;
+    }
+
     /**
     * Returns the role of the user.
     * This method must be implemented by subclasses.
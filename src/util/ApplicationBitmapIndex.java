@@ -0,0 +1,227 @@
+package util;
+
+import com.zaxxer.sparsebits.SparseBitSet;
+import model.Application;
+import model.ApplicationRegistry;
+
+import java.util.*;
+
+/**
+* Bitmap indexes over the application registry, used to answer application filters
+* with bitmap AND/OR operations instead of evaluating every application.
+* <p>
+* Each application is given an ordinal (its position in registration order), and one
+* {@link SparseBitSet} is kept per status, flat type, marital status, project and
+* ten-year age bucket. A filter is answered by OR-ing the bitmaps within each criterion
+* and AND-ing the criteria together; only the surviving ordinals are turned back into
+* applications. Age buckets are coarse, so candidates are checked against the exact age bounds
+* as they are read.
+* <p>
+* A separate array lists the ordinals in applicant name order, so results come back sorted
+* for reports and {@link #cursor(Filter)} can page through them without materializing every match.
+* <p>
+* {@link ApplicationRegistry} keeps the index current: {@link #load} replaces it when applications
+* are loaded, {@link #added} appends one application's bits, and {@link #statusChanged} moves one
+* bit between status bitmaps. The registry never removes single applications, and the other
+* indexed fields do not change after an application is created.
+*
+* @author Javier
+* @version 1.0
+*/
+public class ApplicationBitmapIndex {
+    private static final int AGE_BUCKET = 10;
+    private static final Comparator<Application> BY_NAME = Comparator.comparing(app -> app.getApplicant().getName());
+
+    private static Application[] applications = new Application[16]; // by ordinal; only appended to
+    private static Application.Status[] indexedStatus = new Application.Status[16]; // status bit set for each ordinal
+    private static int size = 0;
+    private static int[] nameOrder = new int[0]; // ordinals by applicant name; replaced, never modified
+    private static final Map<Application, Integer> ordinals = new IdentityHashMap<>();
+    private static final Map<Application.Status, SparseBitSet> byStatus = new EnumMap<>(Application.Status.class);
+    private static final Map<String, SparseBitSet> byFlatType = new HashMap<>();
+    private static final Map<String, SparseBitSet> byMaritalStatus = new HashMap<>();
+    private static final Map<String, SparseBitSet> byProject = new HashMap<>();
+    private static final Map<Integer, SparseBitSet> byAgeBucket = new HashMap<>();
+
+    /**
+    * Returns a cursor over the applications matching the filter, sorted by applicant name.
+    * Only the bitmap operations run up front; applications are looked up (and checked against
+    * exact age bounds) a page at a time as the cursor is read.
+    *
+    * @param filter The filter criteria; null or empty matches every application.
+    * @return A cursor over the matching applications.
+    */
+    public static synchronized QueryCursor<Application> cursor(Filter filter) {
+        Application[] snapshot = applications; // slots below the current size are never modified
+        int[] order = nameOrder;
+        SparseBitSet result = candidates(filter);
+        CompiledFilter exact = result != null && (filter.getMinAge() != null || filter.getMaxAge() != null)
+            ? CompiledFilter.compile(filter) : null;
+
+        return new QueryCursor<Application>() {
+            private int next = 0; // position in name order
+
+            @Override
+            protected Application advance() {
+                while (next < order.length) {
+                    int ordinal = order[next++];
+                    if (result != null && !result.get(ordinal)) continue;
+                    Application app = snapshot[ordinal];
+                    if (exact == null || app.matches(exact)) return app;
+                }
+                return null;
+            }
+
+            @Override
+            protected int knownTotal() {
+                if (result == null) return order.length;
+                return exact == null ? result.cardinality() : -1;
+            }
+        };
+    }
+
+    /**
+    * Replaces the index with the given applications. Called when the registry is loaded.
+    *
+    * @param loaded The applications now in the registry.
+    */
+    public static synchronized void load(Collection<Application> loaded) {
+        Application[] sorted = loaded.toArray(new Application[0]);
+        Arrays.sort(sorted, BY_NAME); // ordinals start out in name order
+        applications = new Application[Math.max(16, sorted.length)];
+        indexedStatus = new Application.Status[applications.length];
+        size = 0;
+        ordinals.clear();
+        byStatus.clear();
+        byFlatType.clear();
+        byMaritalStatus.clear();
+        byProject.clear();
+        byAgeBucket.clear();
+
+        int[] order = new int[sorted.length];
+        for (Application app : sorted) {
+            order[size] = size;
+            append(app);
+        }
+        nameOrder = order;
+    }
+
+    /**
+    * Indexes an application that was added to the registry.
+    * It takes the next ordinal and its place in name order, after applicants with the same name.
+    *
+    * @param app The added application.
+    */
+    public static synchronized void added(Application app) {
+        if (ordinals.containsKey(app)) return;
+        int ordinal = size;
+        append(app);
+
+        int low = 0, high = nameOrder.length; // first position whose name sorts after the new one
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (BY_NAME.compare(applications[nameOrder[mid]], app) <= 0) low = mid + 1;
+            else high = mid;
+        }
+        int[] order = new int[nameOrder.length + 1];
+        System.arraycopy(nameOrder, 0, order, 0, low);
+        order[low] = ordinal;
+        System.arraycopy(nameOrder, low, order, low + 1, nameOrder.length - low);
+        nameOrder = order;
+    }
+
+    /**
+    * Moves an indexed application's bit to the bitmap for its current status.
+    * Unindexed applications are ignored.
+    *
+    * @param app The application whose status changed.
+    */
+    public static synchronized void statusChanged(Application app) {
+        Integer ordinal = ordinals.get(app);
+        if (ordinal == null) return;
+        Application.Status status = app.getStatus();
+        if (indexedStatus[ordinal] == status) return;
+
+        byStatus.get(indexedStatus[ordinal]).clear(ordinal);
+        byStatus.computeIfAbsent(status, k -> new SparseBitSet()).set(ordinal);
+        indexedStatus[ordinal] = status;
+    }
+
+    /**
+    * Combines the bitmaps for every criterion in the filter.
+    *
+    * @param filter The filter criteria.
+    * @return The candidate ordinals, or null if the filter has no indexed criteria.
+    */
+    private static SparseBitSet candidates(Filter filter) {
+        SparseBitSet result = null;
+        if (filter != null) {
+            if (filter.getStatus() != null) {
+                SparseBitSet any = new SparseBitSet();
+                for (Application.Status status : filter.getStatus()) union(any, byStatus.get(status));
+                result = intersect(result, any);
+            }
+            if (filter.getProjectName() != null) {
+                SparseBitSet any = new SparseBitSet();
+                for (String name : filter.getProjectName()) union(any, byProject.get(key(name)));
+                result = intersect(result, any);
+            }
+            if (filter.getFlatType() != null) {
+                result = intersect(result, orEmpty(byFlatType.get(key(filter.getFlatType()))));
+            }
+            if (filter.getMaritalStatus() != null) {
+                result = intersect(result, orEmpty(byMaritalStatus.get(key(filter.getMaritalStatus()))));
+            }
+            if (filter.getMinAge() != null || filter.getMaxAge() != null) {
+                SparseBitSet any = new SparseBitSet();
+                for (Map.Entry<Integer, SparseBitSet> entry : byAgeBucket.entrySet()) {
+                    int low = entry.getKey() * AGE_BUCKET, high = low + AGE_BUCKET - 1;
+                    if ((filter.getMinAge() == null || high >= filter.getMinAge()) &&
+                        (filter.getMaxAge() == null || low <= filter.getMaxAge())) {
+                        any.or(entry.getValue());
+                    }
+                }
+                result = intersect(result, any);
+            }
+        }
+        return result;
+    }
+
+    /**
+    * Gives an application the next ordinal and sets its bits.
+    */
+    private static void append(Application app) {
+        if (size == applications.length) {
+            applications = Arrays.copyOf(applications, size * 2); // open cursors keep the old array
+            indexedStatus = Arrays.copyOf(indexedStatus, size * 2);
+        }
+        int i = size++;
+        applications[i] = app;
+        indexedStatus[i] = app.getStatus();
+        ordinals.put(app, i);
+
+        byStatus.computeIfAbsent(app.getStatus(), k -> new SparseBitSet()).set(i);
+        byFlatType.computeIfAbsent(key(app.getFlatType()), k -> new SparseBitSet()).set(i);
+        byMaritalStatus.computeIfAbsent(key(app.getApplicant().getMaritalStatus()), k -> new SparseBitSet()).set(i);
+        byProject.computeIfAbsent(key(app.getProject().getName()), k -> new SparseBitSet()).set(i);
+        byAgeBucket.computeIfAbsent(Math.floorDiv(app.getApplicant().getAge(), AGE_BUCKET), k -> new SparseBitSet()).set(i);
+    }
+
+    private static SparseBitSet intersect(SparseBitSet result, SparseBitSet criterion) {
+        if (result == null) return criterion.clone();
+        result.and(criterion);
+        return result;
+    }
+
+    private static void union(SparseBitSet target, SparseBitSet bits) {
+        if (bits != null) target.or(bits);
+    }
+
+    private static SparseBitSet orEmpty(SparseBitSet bits) {
+        return bits == null ? new SparseBitSet() : bits;
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
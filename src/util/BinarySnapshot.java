@@ -0,0 +1,391 @@
+package util;
+
+import model.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+* Compact binary snapshot of every registry, written next to the Excel workbook.
+* <p>
+* Loading the snapshot avoids parsing XLSX entirely, so startup reads it whenever it is current
+* (see {@link #isCurrent}); Excel remains the import/export format. The file layout is:
+* <ul>
+*   <li>a header ({@code "BTOS"} magic, format version and save generation)</li>
+*   <li>a string table: every distinct string once, length-prefixed UTF-8</li>
+*   <li>sections for users, projects, applications, enquiries and officer registrations,
+*       each a record count followed by length-prefixed records that refer to strings by index</li>
+* </ul>
+* The file is read through a memory-mapped {@link FileChannel}.
+*
+* @author Javier
+* @version 1.0
+*/
+public class BinarySnapshot {
+    private static final int MAGIC = 0x42544F53; // "BTOS"
+    private static final int VERSION = 2;
+
+    private static final byte APPLICANT = 0;
+    private static final byte OFFICER = 1;
+    private static final byte MANAGER = 2;
+
+    /**
+    * Checks whether a snapshot exists and holds at least the generation last saved to the workbook.
+    * <p>
+    * Each save writes the snapshot first and then the workbook, both stamped with the same new
+    * generation, so a snapshot is only behind when the workbook was saved without it. Password
+    * updates do not change the workbook's generation, so they never make the snapshot look stale.
+    *
+    * @param snapshotPath Path to the snapshot file.
+    * @param workbookPath Path to the Excel workbook.
+    * @return True if the snapshot should be preferred over the workbook.
+    */
+    public static boolean isCurrent(String snapshotPath, String workbookPath) {
+        long snapshot = readGeneration(snapshotPath);
+        return snapshot >= 0 && snapshot >= ExcelStreamReader.readGeneration(workbookPath);
+    }
+
+    /**
+    * Reads the save generation from a snapshot's header.
+    *
+    * @param path Path to the snapshot file.
+    * @return The generation, or -1 if the snapshot is missing or not in this format.
+    */
+    public static long readGeneration(String path) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return -1;
+            return in.readLong();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    // ===== Writing =====
+
+    /**
+    * Writes a snapshot of all users and registries, replacing any existing snapshot atomically.
+    *
+    * @param path Path to the snapshot file.
+    * @param users All registered users.
+    * @param generation The save generation the snapshot belongs to.
+    * @return True if the snapshot was written; false otherwise.
+    */
+    public static boolean write(String path, Collection<User> users, long generation) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        try {
+            DataOutputStream out = new DataOutputStream(body);
+            RecordWriter rec = new RecordWriter(strings);
+
+            // Users
+            out.writeInt(users.size());
+            for (User u : users) {
+                rec.writeByte(u instanceof HDBOfficer ? OFFICER : u instanceof HDBManager ? MANAGER : APPLICANT);
+                rec.writeString(u.getName());
+                rec.writeString(u.getNric());
+                rec.writeString(u.getPassword());
+                rec.writeInt(u.getAge());
+                rec.writeString(u.getMaritalStatus());
+                rec.flushTo(out);
+            }
+
+            // Projects
+            Collection<Project> projects = ProjectRegistry.getAllProjects();
+            out.writeInt(projects.size());
+            for (Project p : projects) {
+                rec.writeString(p.getName());
+                rec.writeString(p.getNeighborhood());
+                rec.writeInt((int) p.getOpenDate().toEpochDay());
+                rec.writeInt((int) p.getCloseDate().toEpochDay());
+                rec.writeByte(p.isVisible() ? 1 : 0);
+                rec.writeInt(p.getMaxOfficerSlots());
+                rec.writeString(p.getManagerName());
+                rec.writeInt(p.getOfficerList().size());
+                for (String officer : p.getOfficerList()) rec.writeString(officer);
+                rec.writeInt(p.getFlatTypes().size());
+                for (FlatType ft : p.getFlatTypes().values()) {
+                    rec.writeString(ft.getType());
+                    rec.writeInt(ft.getTotalUnits());
+                    rec.writeInt(ft.getRemainingUnits());
+                    rec.writeInt(ft.getPrice());
+                }
+                rec.flushTo(out);
+            }
+
+            // Applications, in per-applicant order so journal positions stay valid
+            List<Application> applications = ApplicationRegistry.getAllApplications().values().stream().flatMap(List::stream).toList();
+            out.writeInt(applications.size());
+            for (Application a : applications) {
+                rec.writeString(a.getApplicant().getNric());
+                rec.writeString(a.getProject().getName());
+                rec.writeString(a.getFlatType());
+                rec.writeInt((int) a.getApplicationDate().toEpochDay());
+                rec.writeByte(a.getStatus().ordinal());
+                rec.writeByte(a.isWithdrawalRequested() ? 1 : 0);
+                rec.flushTo(out);
+            }
+
+            // Enquiries
+            List<Enquiry> enquiries = EnquiryRegistry.getAllEnquiries();
+            out.writeInt(enquiries.size());
+            for (Enquiry e : enquiries) {
+                rec.writeInt(e.getEnquiryId());
+                rec.writeString(e.getSenderNRIC());
+                rec.writeString(e.getProjectName());
+                rec.writeString(e.getContent());
+                rec.writeString(e.getReply());
+                rec.writeString(e.getReplyBy());
+                rec.flushTo(out);
+            }
+
+            // Officer registrations
+            List<Object[]> registrations = new ArrayList<>();
+            for (User u : users) {
+                if (u instanceof HDBOfficer officer) {
+                    for (Map.Entry<String, HDBOfficer.RegistrationStatus> entry : officer.getAllRegistrations().entrySet()) {
+                        registrations.add(new Object[] {officer, entry.getKey(), entry.getValue()});
+                    }
+                }
+            }
+            out.writeInt(registrations.size());
+            for (Object[] r : registrations) {
+                HDBOfficer officer = (HDBOfficer) r[0];
+                rec.writeString(officer.getNric());
+                rec.writeString((String) r[1]);
+                rec.writeByte(((HDBOfficer.RegistrationStatus) r[2]).ordinal());
+                rec.writeString(officer.getAssignedProject());
+                rec.flushTo(out);
+            }
+            out.flush();
+
+            writeFile(path, generation, strings, body);
+            return true;
+
+        } catch (IOException e) {
+            System.out.println("Error writing snapshot: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+    * Writes the header, string table and record body to a temp file and moves it into place.
+    */
+    private static void writeFile(String path, long generation, Map<String, Integer> strings, ByteArrayOutputStream body) throws IOException {
+        Path target = Paths.get(path).toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), "snapshot", ".tmp");
+
+        try {
+            try (FileOutputStream fos = new FileOutputStream(temp.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(generation);
+
+                out.writeInt(strings.size());
+                for (String s : strings.keySet()) {
+                    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+
+                body.writeTo(out);
+                out.flush();
+                fos.getFD().sync();
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+    * Buffers a single record, interning strings into the shared string table,
+    * and writes it out with a length prefix.
+    */
+    private static class RecordWriter {
+        private final Map<String, Integer> strings;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(buffer);
+
+        RecordWriter(Map<String, Integer> strings) {
+            this.strings = strings;
+        }
+
+        void writeString(String s) throws IOException {
+            out.writeInt(s == null ? -1 : strings.computeIfAbsent(s, k -> strings.size()));
+        }
+
+        void writeInt(int v) throws IOException {
+            out.writeInt(v);
+        }
+
+        void writeByte(int v) throws IOException {
+            out.writeByte(v);
+        }
+
+        void flushTo(DataOutputStream target) throws IOException {
+            target.writeInt(buffer.size());
+            buffer.writeTo(target);
+            buffer.reset();
+        }
+    }
+
+    // ===== Reading =====
+
+    /**
+    * Loads a snapshot into the same structure produced by the Excel loaders.
+    * Officer registrations and remaining flat units, which Excel does not store, are restored as well.
+    *
+    * @param path Path to the snapshot file.
+    * @return The loaded data, or null if the snapshot is missing or unreadable.
+    */
+    public static ExcelReader.ExcelData load(String path) {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                System.out.println("Unrecognised snapshot format. Ignoring snapshot.");
+                return null;
+            }
+            buf.getLong(); // generation, see readGeneration
+
+            String[] strings = new String[buf.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[buf.getInt()];
+                buf.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            List<Applicant> applicants = new ArrayList<>();
+            List<HDBOfficer> officers = new ArrayList<>();
+            List<HDBManager> managers = new ArrayList<>();
+            Map<String, Applicant> applicantMap = new HashMap<>();
+
+            int count = buf.getInt();
+            for (int i = 0; i < count; i++) {
+                ByteBuffer r = nextRecord(buf);
+                byte role = r.get();
+                String name = str(strings, r), nric = str(strings, r), password = str(strings, r);
+                int age = r.getInt();
+                String marital = str(strings, r);
+
+                switch (role) {
+                    case OFFICER -> {
+                        HDBOfficer o = new HDBOfficer(name, nric, password, age, marital);
+                        officers.add(o);
+                        applicantMap.put(nric, o);
+                    }
+                    case MANAGER -> managers.add(new HDBManager(name, nric, password, age, marital));
+                    default -> {
+                        Applicant a = new Applicant(name, nric, password, age, marital);
+                        applicants.add(a);
+                        applicantMap.put(nric, a);
+                    }
+                }
+            }
+
+            List<Project> projects = new ArrayList<>();
+            Map<String, Project> projectMap = new HashMap<>();
+            count = buf.getInt();
+            for (int i = 0; i < count; i++) {
+                ByteBuffer r = nextRecord(buf);
+                String name = str(strings, r), neighborhood = str(strings, r);
+                LocalDate open = LocalDate.ofEpochDay(r.getInt());
+                LocalDate close = LocalDate.ofEpochDay(r.getInt());
+                boolean visible = r.get() == 1;
+                int slots = r.getInt();
+                Project p = new Project(name, neighborhood, open, close, visible, slots, str(strings, r));
+
+                int officerCount = r.getInt();
+                for (int j = 0; j < officerCount; j++) p.addOfficer(str(strings, r));
+
+                int flatCount = r.getInt();
+                for (int j = 0; j < flatCount; j++) {
+                    String type = str(strings, r);
+                    int total = r.getInt(), remaining = r.getInt(), price = r.getInt();
+                    p.addFlatType(type, total, price);
+                    p.getFlatType(type).setRemainingUnits(remaining);
+                }
+
+                projects.add(p);
+                projectMap.put(name, p);
+            }
+
+            List<Application> applications = new ArrayList<>();
+            count = buf.getInt();
+            for (int i = 0; i < count; i++) {
+                ByteBuffer r = nextRecord(buf);
+                Applicant applicant = applicantMap.get(str(strings, r));
+                Project project = projectMap.get(str(strings, r));
+                String flatType = str(strings, r);
+                LocalDate date = LocalDate.ofEpochDay(r.getInt());
+                Application.Status status = Application.Status.values()[r.get()];
+                boolean withdrawal = r.get() == 1;
+                if (applicant == null || project == null) continue;
+
+                Application a = new Application(applicant, project, flatType);
+                a.setApplicationDate(date);
+                a.setStatus(status);
+                a.setWithdrawalRequested(withdrawal);
+                applications.add(a);
+            }
+
+            List<Enquiry> enquiries = new ArrayList<>();
+            count = buf.getInt();
+            for (int i = 0; i < count; i++) {
+                ByteBuffer r = nextRecord(buf);
+                int id = r.getInt();
+                Enquiry e = new Enquiry(str(strings, r), str(strings, r), str(strings, r));
+                e.setEnquiryId(id);
+                String reply = str(strings, r), replyBy = str(strings, r);
+                if (reply != null) e.reply(reply);
+                if (replyBy != null) e.setReplyBy(replyBy);
+                enquiries.add(e);
+            }
+
+            count = buf.getInt();
+            for (int i = 0; i < count; i++) {
+                ByteBuffer r = nextRecord(buf);
+                if (!(applicantMap.get(str(strings, r)) instanceof HDBOfficer officer)) continue;
+                String projectName = str(strings, r);
+                officer.setRegistrationStatus(projectName, HDBOfficer.RegistrationStatus.values()[r.get()]);
+                String assigned = str(strings, r);
+                if (assigned != null) officer.assignToProject(assigned);
+            }
+
+            return new ExcelReader.ExcelData(applicants, officers, managers, projects, applications, enquiries);
+
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error reading snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+    * Returns a view over the next length-prefixed record and advances past it.
+    */
+    private static ByteBuffer nextRecord(ByteBuffer buf) {
+        int length = buf.getInt();
+        ByteBuffer record = buf.slice();
+        record.limit(length);
+        buf.position(buf.position() + length);
+        return record;
+    }
+
+    private static String str(String[] strings, ByteBuffer r) {
+        int index = r.getInt();
+        return index < 0 ? null : strings[index];
+    }
+}
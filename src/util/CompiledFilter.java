@@ -0,0 +1,159 @@
+package util;
+
+import java.util.*;
+
+import model.Application;
+
+/**
+* Immutable, pre-normalized form of a {@link Filter}, built once per query and then
+* tested against every item.
+* <p>
+* Text criteria are trimmed and lower-cased up front and held in hash sets, and numeric
+* bounds are unboxed into plain ints, so matching a row does no string normalization,
+* no stream allocation and no null checks on boxed values. {@link ISearchable} items
+* test the cheapest and most selective criteria first.
+*
+* @author Javier
+* @version 1.0
+*/
+public final class CompiledFilter {
+    private final Filter source;
+
+    private final String flatType;        // lower case, as entered
+    private final String flatTypeTrimmed; // lower case, trimmed
+    private final Set<String> neighbourhoods;
+    private final Set<String> projectNames;
+    private final Set<Application.Status> statuses;
+    private final String maritalStatus;
+    private final boolean hasPrice;
+    private final int minPrice;
+    private final int maxPrice;
+    private final boolean hasAge;
+    private final int minAge;
+    private final int maxAge;
+
+    private CompiledFilter(Filter filter) {
+        this.source = filter;
+        this.flatType = filter.getFlatType() == null ? null : lower(filter.getFlatType());
+        this.flatTypeTrimmed = filter.getFlatType() == null ? null : lower(filter.getFlatType().trim());
+        this.neighbourhoods = lowerSet(filter.getNeighbourhood());
+        this.projectNames = lowerSet(filter.getProjectName());
+        this.statuses = filter.getStatus() == null ? null
+            : filter.getStatus().isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(filter.getStatus()));
+        this.maritalStatus = filter.getMaritalStatus() == null ? null : lower(filter.getMaritalStatus());
+        this.hasPrice = filter.getMinPrice() != null || filter.getMaxPrice() != null;
+        this.minPrice = filter.getMinPrice() == null ? Integer.MIN_VALUE : filter.getMinPrice();
+        this.maxPrice = filter.getMaxPrice() == null ? Integer.MAX_VALUE : filter.getMaxPrice();
+        this.hasAge = filter.getMinAge() != null || filter.getMaxAge() != null;
+        this.minAge = filter.getMinAge() == null ? Integer.MIN_VALUE : filter.getMinAge();
+        this.maxAge = filter.getMaxAge() == null ? Integer.MAX_VALUE : filter.getMaxAge();
+    }
+
+    /**
+    * Compiles a filter. Later changes to the filter do not affect the compiled form.
+    *
+    * @param filter The filter to compile.
+    * @return The compiled filter.
+    */
+    public static CompiledFilter compile(Filter filter) {
+        return new CompiledFilter(filter);
+    }
+
+    /**
+    * Returns the filter this was compiled from, for items without a compiled matcher.
+    *
+    * @return The source filter.
+    */
+    public Filter getSource() {
+        return source;
+    }
+
+    /** @return The lower-cased flat type as entered, or null if not filtered. */
+    public String getFlatType() {
+        return flatType;
+    }
+
+    /** @return The lower-cased, trimmed flat type, or null if not filtered. */
+    public String getFlatTypeTrimmed() {
+        return flatTypeTrimmed;
+    }
+
+    /** @return The lower-cased neighbourhoods, or null if not filtered. */
+    public Set<String> getNeighbourhoods() {
+        return neighbourhoods;
+    }
+
+    /** @return The lower-cased project names, or null if not filtered. */
+    public Set<String> getProjectNames() {
+        return projectNames;
+    }
+
+    /** @return The accepted statuses, or null if not filtered. */
+    public Set<Application.Status> getStatuses() {
+        return statuses;
+    }
+
+    /** @return The lower-cased marital status, or null if not filtered. */
+    public String getMaritalStatus() {
+        return maritalStatus;
+    }
+
+    /**
+    * Returns a canonical text form of the criteria. Filters that match the same items
+    * produce the same key regardless of set order or letter case.
+    *
+    * @return The normalized key.
+    */
+    public String getKey() {
+        return "flatType=" + flatType
+            + ";neighbourhood=" + sorted(neighbourhoods)
+            + ";project=" + sorted(projectNames)
+            + ";status=" + statuses // EnumSet iterates in declaration order
+            + ";marital=" + maritalStatus
+            + ";price=" + (hasPrice ? minPrice + ".." + maxPrice : null)
+            + ";age=" + (hasAge ? minAge + ".." + maxAge : null);
+    }
+
+    /** @return True if a minimum or maximum price is set. */
+    public boolean hasPrice() {
+        return hasPrice;
+    }
+
+    /** @return True if the price lies within the bounds; unset bounds are open. */
+    public boolean priceInRange(int price) {
+        return price >= minPrice && price <= maxPrice;
+    }
+
+    /** @return True if a minimum or maximum age is set. */
+    public boolean hasAge() {
+        return hasAge;
+    }
+
+    /** @return True if the age lies within the bounds; unset bounds are open. */
+    public boolean ageInRange(int age) {
+        return age >= minAge && age <= maxAge;
+    }
+
+    /**
+    * Lower-cases text the same way for filter criteria and item values.
+    *
+    * @param value The text to normalize.
+    * @return The lower-cased text.
+    */
+    public static String lower(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String sorted(Set<String> values) {
+        return values == null ? null : new TreeSet<>(values).toString();
+    }
+
+    private static Set<String> lowerSet(Set<String> values) {
+        if (values == null) return null;
+        Set<String> result = new HashSet<>();
+        for (String value : values) {
+            if (value != null) result.add(lower(value));
+        }
+        return Collections.unmodifiableSet(result);
+    }
+}
@@ -0,0 +1,569 @@
+package util;
+
+import model.*;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+* Streaming counterpart of {@link ExcelReader} built on the Apache POI XSSF event API.
+* <p>
+* Sheets are parsed with a SAX handler that hands each row to a consumer as soon as it
+* is complete, so only one row is held in memory at a time instead of the full workbook DOM.
+* Only the columns the loaders actually use are kept; every other cell is skipped.
+*
+* Produces the same {@link ExcelReader.ExcelData} records as {@link ExcelReader#loadAllData(String)}.
+*
+* Depends on Apache POI.
+*
+* @author Javier
+* @version 1.0
+*/
+public class ExcelStreamReader {
+    private static final int[] USER_COLUMNS = {0, 1, 2, 3, 4};
+    private static final int[] PROJECT_COLUMNS = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13};
+    private static final int[] APPLICATION_COLUMNS = {1, 4, 5, 6, 7};
+    private static final int[] ENQUIRY_COLUMNS = {0, 1, 2, 3, 4, 5};
+
+    private static final int MAX_LOAD_THREADS = 5; // one per independent sheet
+
+    /**
+    * Streams all relevant sheets from the given Excel file and parses them into lists.
+    * Sheets are processed in dependency order so applications can be linked as they are read.
+    *
+    * @param filePath Path to the Excel file.
+    * @return A populated ExcelData object containing all loaded records, or null on failure.
+    */
+    public static ExcelReader.ExcelData loadAllData(String filePath) {
+        return loadAllData(filePath, false, false);
+    }
+
+    /**
+    * Streams all relevant sheets from the given Excel file, optionally in parallel.
+    * <p>
+    * In parallel mode the five independent sheets are parsed concurrently on a bounded pool,
+    * and FlatBookings is parsed and linked as soon as applicants, officers and projects are ready.
+    * With timing enabled, the duration of every phase is printed once loading finishes.
+    *
+    * @param filePath Path to the Excel file.
+    * @param parallel True to parse independent sheets concurrently.
+    * @param printTiming True to print per-phase timings.
+    * @return A populated ExcelData object containing all loaded records, or null on failure.
+    */
+    public static ExcelReader.ExcelData loadAllData(String filePath, boolean parallel, boolean printTiming) {
+        PhaseTimer timer = new PhaseTimer();
+
+        try (OPCPackage pkg = OPCPackage.open(filePath, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            List<String> strings = timer.time("SharedStrings", () -> loadSharedStrings(reader));
+            Map<String, PackagePart> sheets = getSheetParts(reader);
+
+            ExcelReader.ExcelData data = parallel
+                ? loadSheetsParallel(sheets, strings, timer)
+                : loadSheetsSequential(sheets, strings, timer);
+
+            timer.total();
+            if (printTiming) timer.print(parallel ? "parallel" : "sequential");
+            return data;
+
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            System.out.println("Error reading Excel file: " + cause.getMessage());
+            cause.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+    * Reads the save generation that {@link ExcelWriter} stamps into the workbook, without parsing any sheet.
+    *
+    * @param filePath Path to the Excel file.
+    * @return The generation, or 0 if the workbook is missing, unreadable or was never stamped.
+    */
+    public static long readGeneration(String filePath) {
+        if (!new File(filePath).exists()) return 0;
+        try (OPCPackage pkg = OPCPackage.open(filePath, PackageAccess.READ)) {
+            return pkg.getPackageProperties().getRevisionProperty().map(Long::parseLong).orElse(0L);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    /**
+    * Parses every sheet on the calling thread, one after another.
+    */
+    private static ExcelReader.ExcelData loadSheetsSequential(Map<String, PackagePart> sheets, List<String> strings, PhaseTimer timer) throws Exception {
+        List<Applicant> applicants = timer.time("Applicants", () -> loadApplicants(sheets.get("Applicants"), strings));
+        List<HDBOfficer> officers = timer.time("Officers", () -> loadOfficers(sheets.get("Officers"), strings));
+        List<HDBManager> managers = timer.time("Managers", () -> loadManagers(sheets.get("Managers"), strings));
+        List<Project> projects = timer.time("ProjectListings", () -> loadProjects(sheets.get("ProjectListings"), strings));
+        List<Application> applications = timer.time("FlatBookings", () -> loadApplications(sheets.get("FlatBookings"), strings, applicants, officers, projects));
+        List<Enquiry> enquiries = timer.time("Enquiries", () -> loadEnquiries(sheets.get("Enquiries"), strings));
+
+        return new ExcelReader.ExcelData(applicants, officers, managers, projects, applications, enquiries);
+    }
+
+    /**
+    * Parses the independent sheets concurrently, then links applications once their inputs are ready.
+    */
+    private static ExcelReader.ExcelData loadSheetsParallel(Map<String, PackagePart> sheets, List<String> strings, PhaseTimer timer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(MAX_LOAD_THREADS, r -> {
+            Thread t = new Thread(r, "sheet-loader");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            CompletableFuture<List<Applicant>> applicants = submit(executor, timer, "Applicants", () -> loadApplicants(sheets.get("Applicants"), strings));
+            CompletableFuture<List<HDBOfficer>> officers = submit(executor, timer, "Officers", () -> loadOfficers(sheets.get("Officers"), strings));
+            CompletableFuture<List<HDBManager>> managers = submit(executor, timer, "Managers", () -> loadManagers(sheets.get("Managers"), strings));
+            CompletableFuture<List<Project>> projects = submit(executor, timer, "ProjectListings", () -> loadProjects(sheets.get("ProjectListings"), strings));
+            CompletableFuture<List<Enquiry>> enquiries = submit(executor, timer, "Enquiries", () -> loadEnquiries(sheets.get("Enquiries"), strings));
+
+            // Only FlatBookings depends on other sheets: it runs as soon as its three inputs complete
+            CompletableFuture<List<Application>> applications = CompletableFuture.allOf(applicants, officers, projects)
+                .thenApplyAsync(ignored -> run(timer, "FlatBookings",
+                    () -> loadApplications(sheets.get("FlatBookings"), strings, applicants.join(), officers.join(), projects.join())), executor);
+
+            return new ExcelReader.ExcelData(applicants.get(), officers.get(), managers.get(), projects.get(), applications.get(), enquiries.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> CompletableFuture<T> submit(ExecutorService executor, PhaseTimer timer, String phase, SheetTask<T> task) {
+        return CompletableFuture.supplyAsync(() -> run(timer, phase, task), executor);
+    }
+
+    /**
+    * Runs a timed task, rethrowing checked exceptions unchecked so it can run inside a future.
+    */
+    private static <T> T run(PhaseTimer timer, String phase, SheetTask<T> task) {
+        try {
+            return timer.time(phase, task);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+    * A loading step that may fail with a checked exception.
+    */
+    @FunctionalInterface
+    private interface SheetTask<T> {
+        T load() throws Exception;
+    }
+
+    /**
+    * Records how long each load phase takes. Safe to use from several loader threads.
+    */
+    private static class PhaseTimer {
+        private final long start = System.nanoTime();
+        private final Map<String, Long> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        <T> T time(String phase, SheetTask<T> task) throws Exception {
+            long begin = System.nanoTime();
+            try {
+                return task.load();
+            } finally {
+                phases.put(phase, System.nanoTime() - begin);
+            }
+        }
+
+        void total() {
+            phases.put("Total", System.nanoTime() - start);
+        }
+
+        void print(String mode) {
+            StringBuilder sb = new StringBuilder("Load timing (" + mode + "):");
+            synchronized (phases) {
+                phases.forEach((phase, nanos) -> sb.append(String.format(" %s=%.1fms", phase, nanos / 1_000_000.0)));
+            }
+            System.out.println(sb);
+        }
+    }
+
+    /**
+    * Reads the shared strings part into a plain list of strings.
+    * Rich text runs are flattened and phonetic runs are skipped, which is all the loaders need.
+    *
+    * @param reader The XSSF reader for the open package.
+    * @return The shared strings, indexed by their position in the table.
+    */
+    static List<String> loadSharedStrings(XSSFReader reader) throws IOException, OpenXML4JException, SAXException {
+        List<String> strings = new ArrayList<>();
+        try (InputStream in = reader.getSharedStringsData()) {
+            if (in == null) return strings;
+
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new DefaultHandler() {
+                private final StringBuilder text = new StringBuilder();
+                private boolean inText;
+                private boolean inPhonetic;
+
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    switch (localName) {
+                        case "si" -> text.setLength(0);
+                        case "rPh" -> inPhonetic = true;
+                        case "t" -> inText = !inPhonetic;
+                        default -> { }
+                    }
+                }
+
+                @Override
+                public void characters(char[] ch, int start, int length) {
+                    if (inText) text.append(ch, start, length);
+                }
+
+                @Override
+                public void endElement(String uri, String localName, String qName) {
+                    switch (localName) {
+                        case "si" -> strings.add(text.toString());
+                        case "rPh" -> inPhonetic = false;
+                        case "t" -> inText = false;
+                        default -> { }
+                    }
+                }
+            });
+            parser.parse(new InputSource(in));
+        } catch (ParserConfigurationException e) {
+            throw new SAXException("Unable to create SAX parser", e);
+        }
+        return strings;
+    }
+
+    /**
+    * Maps every sheet name in the workbook to its package part without parsing any sheet.
+    *
+    * @param reader The XSSF reader for the open package.
+    * @return A map of sheet name to sheet part.
+    */
+    static Map<String, PackagePart> getSheetParts(XSSFReader reader) throws IOException, OpenXML4JException {
+        Map<String, PackagePart> sheets = new HashMap<>();
+        XSSFReader.SheetIterator it = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (it.hasNext()) {
+            InputStream data = it.next(); // opened by the iterator; only the part is needed
+            sheets.put(it.getSheetName(), it.getSheetPart());
+            data.close();
+        }
+        return sheets;
+    }
+
+    /**
+    * Streams applicants from the Applicants sheet.
+    *
+    * @param sheet The sheet part, or null if the sheet is missing.
+    * @param strings The shared strings of the workbook.
+    * @return A list of applicants.
+    */
+    static List<Applicant> loadApplicants(PackagePart sheet, List<String> strings) throws IOException, SAXException {
+        if (sheet == null) {
+            System.out.println("Sheet not found in Excel. Skipping.");
+            return Collections.emptyList();
+        }
+
+        List<Applicant> applicants = new ArrayList<>();
+        processSheet(sheet, strings, USER_COLUMNS, row ->
+            applicants.add(new Applicant(row[0], row[1], row[4], toInt(row[2]), row[3])));
+        return applicants;
+    }
+
+    /**
+    * Streams HDB officers from the Officers sheet.
+    *
+    * @param sheet The sheet part, or null if the sheet is missing.
+    * @param strings The shared strings of the workbook.
+    * @return A list of HDB officers.
+    */
+    static List<HDBOfficer> loadOfficers(PackagePart sheet, List<String> strings) throws IOException, SAXException {
+        if (sheet == null) {
+            System.out.println("Sheet not found in Excel. Skipping.");
+            return Collections.emptyList();
+        }
+
+        List<HDBOfficer> officers = new ArrayList<>();
+        processSheet(sheet, strings, USER_COLUMNS, row ->
+            officers.add(new HDBOfficer(row[0], row[1], row[4], toInt(row[2]), row[3])));
+        return officers;
+    }
+
+    /**
+    * Streams HDB managers from the Managers sheet.
+    *
+    * @param sheet The sheet part, or null if the sheet is missing.
+    * @param strings The shared strings of the workbook.
+    * @return A list of HDB managers.
+    */
+    static List<HDBManager> loadManagers(PackagePart sheet, List<String> strings) throws IOException, SAXException {
+        if (sheet == null) {
+            System.out.println("Sheet not found in Excel. Skipping.");
+            return Collections.emptyList();
+        }
+
+        List<HDBManager> managers = new ArrayList<>();
+        processSheet(sheet, strings, USER_COLUMNS, row ->
+            managers.add(new HDBManager(row[0], row[1], row[4], toInt(row[2]), row[3])));
+        return managers;
+    }
+
+    /**
+    * Streams housing projects from the ProjectListings sheet.
+    *
+    * @param sheet The sheet part, or null if the sheet is missing.
+    * @param strings The shared strings of the workbook.
+    * @return A list of projects.
+    */
+    static List<Project> loadProjects(PackagePart sheet, List<String> strings) throws IOException, SAXException {
+        if (sheet == null) {
+            System.out.println("ProjectListing sheet not found in Excel. Skipping.");
+            return Collections.emptyList();
+        }
+
+        List<Project> projects = new ArrayList<>();
+        processSheet(sheet, strings, PROJECT_COLUMNS, row -> {
+            String officerNames = row[12] != null ? row[12].trim() : "";
+            String visibilityCell = row[13] != null ? row[13].trim() : "TRUE";
+
+            Project project = new Project(row[0], row[1], toDate(row[8]), toDate(row[9]),
+                visibilityCell.equalsIgnoreCase("true"), toInt(row[11]), row[10]);
+            project.addFlatType(row[2], toInt(row[3]), toInt(row[4]));
+            project.addFlatType(row[5], toInt(row[6]), toInt(row[7]));
+
+            for (String officer : officerNames.split(",")) {
+                if (!officer.trim().isEmpty()) {
+                    project.addOfficer(officer);
+                }
+            }
+
+            projects.add(project);
+        });
+        return projects;
+    }
+
+    /**
+    * Streams applications from the FlatBookings sheet, linking each row to its applicant and project.
+    *
+    * @param sheet The sheet part, or null if the sheet is missing.
+    * @param strings The shared strings of the workbook.
+    * @param applicants The list of applicants to match against.
+    * @param officers The list of officers to match against.
+    * @param projects The list of projects to match against.
+    * @return A list of applications.
+    */
+    static List<Application> loadApplications(PackagePart sheet, List<String> strings, List<Applicant> applicants,
+                                              List<HDBOfficer> officers, List<Project> projects) throws IOException, SAXException {
+        if (sheet == null) {
+            System.out.println("Application sheet not found in Excel. Skipping.");
+            return Collections.emptyList();
+        }
+
+        Map<String, Applicant> applicantMap = new HashMap<>();
+        for (Applicant a : applicants) applicantMap.put(a.getNric().toUpperCase(), a);
+        for (HDBOfficer o : officers) applicantMap.put(o.getNric().toUpperCase(), o);
+
+        Map<String, Project> projectMap = new HashMap<>();
+        for (Project p : projects) projectMap.put(p.getName().toLowerCase(), p);
+
+        List<Application> applications = new ArrayList<>();
+        processSheet(sheet, strings, APPLICATION_COLUMNS, row -> {
+            String nric = row[1].toUpperCase();
+            String projectName = row[5];
+
+            Applicant applicant = applicantMap.get(nric);
+            if (applicant == null) {
+                System.out.println("Skipping NRIC " + nric + ": Not a valid applicant or officer.");
+                return;
+            }
+
+            Project project = projectMap.get(projectName.toLowerCase());
+            if (project == null) {
+                System.out.println("Project " + projectName + " not found. Skipping application.");
+                return;
+            }
+
+            Application application = new Application(applicant, project, row[4]);
+            application.setStatus(Application.Status.valueOf(row[7].toUpperCase()));
+            application.setApplicationDate(toDate(row[6]));
+            applications.add(application);
+        });
+        return applications;
+    }
+
+    /**
+    * Streams enquiries from the Enquiries sheet.
+    *
+    * @param sheet The sheet part, or null if the sheet is missing.
+    * @param strings The shared strings of the workbook.
+    * @return A list of enquiries.
+    */
+    static List<Enquiry> loadEnquiries(PackagePart sheet, List<String> strings) throws IOException, SAXException {
+        if (sheet == null) {
+            System.out.println("Enquiries sheet not found in Excel. Skipping.");
+            return Collections.emptyList();
+        }
+
+        List<Enquiry> enquiries = new ArrayList<>();
+        processSheet(sheet, strings, ENQUIRY_COLUMNS, row -> {
+            Enquiry enquiry = new Enquiry(row[1], row[2], row[3]);
+            enquiry.setEnquiryId(toInt(row[0]));
+            if (row[4] != null && !row[4].isEmpty()) {
+                enquiry.reply(row[4]);
+            }
+            if (row[5] != null && !row[5].isEmpty()) {
+                enquiry.setReplyBy(row[5]);
+            }
+            enquiries.add(enquiry);
+        });
+        return enquiries;
+    }
+
+    /**
+    * Parses one sheet with a SAX handler, passing every data row (header excluded) to the consumer.
+    * The array handed to the consumer is indexed by column and only holds the requested columns.
+    *
+    * @param sheet The sheet part to parse.
+    * @param strings The shared strings of the workbook.
+    * @param columns The zero-based column indexes to keep.
+    * @param consumer Callback invoked once per data row.
+    */
+    static void processSheet(PackagePart sheet, List<String> strings, int[] columns, Consumer<String[]> consumer) throws IOException, SAXException {
+        try (InputStream in = sheet.getInputStream()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new SheetHandler(strings, columns, consumer));
+            parser.parse(new InputSource(in));
+        } catch (ParserConfigurationException e) {
+            throw new SAXException("Unable to create SAX parser", e);
+        }
+    }
+
+    /**
+    * Converts a raw cell value to an integer, mirroring {@code ExcelReader.getSafeNumericCellValue}.
+    *
+    * @param value The raw cell value.
+    * @return The integer value.
+    * @throws NumberFormatException If the value is missing or not numeric.
+    */
+    private static int toInt(String value) throws NumberFormatException {
+        if (value == null || value.trim().isEmpty()) throw new NumberFormatException("Cell is null");
+        return (int) Double.parseDouble(value.trim());
+    }
+
+    /**
+    * Converts a raw Excel date serial to a {@code LocalDate}.
+    *
+    * @param value The raw numeric cell value.
+    * @return The corresponding date.
+    */
+    private static LocalDate toDate(String value) {
+        return DateUtil.getLocalDateTime(Double.parseDouble(value)).toLocalDate();
+    }
+
+    /**
+    * SAX handler that collects the requested cells of each row and emits them when the row ends.
+    * Shared string indexes are resolved on the fly; numeric cells are returned as their raw value.
+    */
+    private static class SheetHandler extends DefaultHandler {
+        private final List<String> strings;
+        private final boolean[] wanted;
+        private final Consumer<String[]> consumer;
+        private final StringBuilder text = new StringBuilder();
+
+        private String[] values;
+        private boolean rowHasValue;
+        private int rowNum;
+        private int column = -1;
+        private String cellType;
+        private boolean inValue;
+
+        SheetHandler(List<String> strings, int[] columns, Consumer<String[]> consumer) {
+            this.strings = strings;
+            this.consumer = consumer;
+
+            int max = 0;
+            for (int c : columns) max = Math.max(max, c);
+            this.wanted = new boolean[max + 1];
+            for (int c : columns) wanted[c] = true;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowNum = r != null ? Integer.parseInt(r) : rowNum + 1;
+                    values = new String[wanted.length];
+                    rowHasValue = false;
+                    column = -1;
+                }
+                case "c" -> {
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? columnIndex(ref) : column + 1;
+                    cellType = attributes.getValue("t");
+                    text.setLength(0);
+                }
+                case "v", "t" -> inValue = column < wanted.length && wanted[column];
+                default -> { }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) text.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> {
+                    if (!inValue) return;
+                    inValue = false;
+                    values[column] = resolve(text.toString());
+                    rowHasValue = true;
+                }
+                case "row" -> {
+                    if (rowNum > 1 && rowHasValue) consumer.accept(values); // skip header and blank rows
+                    values = null;
+                }
+                default -> { }
+            }
+        }
+
+        private String resolve(String raw) {
+            if ("s".equals(cellType)) {
+                return strings.get(Integer.parseInt(raw));
+            }
+            if ("b".equals(cellType)) {
+                return "1".equals(raw) ? "TRUE" : "FALSE";
+            }
+            return raw;
+        }
+
+        private static int columnIndex(String ref) {
+            int col = 0;
+            for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+                col = col * 26 + (ref.charAt(i) - 'A' + 1);
+            }
+            return col - 1;
+        }
+    }
+}
@@ -3,9 +3,16 @@ package util;
 import model.*;
 
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
 * Utility for saving user credentials, applications, projects, and enquiries
@@ -17,287 +24,627 @@ import java.util.*;
 * @version 1.0
 */
 public class ExcelWriter {
-    private static final String filePath = "src/data/CombinedExcel.xlsx";
+    private static volatile String filePath = "src/data/CombinedExcel.xlsx";
+    private static final int STREAM_WINDOW = 100; // rows kept in memory while streaming a sheet
+    private static volatile long generation = 0;
+
 
     /**
-    * Creates a cell style for formatting dates as "d/M/yyyy" in Excel.
+    * Points the writer at a different workbook, for example a copy used by tests.
+    *
+    * @param path Path to the Excel file to write.
+    */
+    public static void setFilePath(String path) {
+        filePath = path;
+    }
+
+    /**
+    * Sets the save generation stamped into the workbook, as its revision, whenever the registries are saved.
+    * Startup compares it with the snapshot's generation to decide which file is current
+    * (see {@link ExcelStreamReader#readGeneration(String)}). Password updates keep the existing stamp.
+    *
+    * @param saveGeneration The generation of the data being saved.
+    */
+    public static void setGeneration(long saveGeneration) {
+        generation = saveGeneration;
+    }
+
+    /**
+    * Returns a cell style for formatting dates as "d/M/yyyy" in Excel.
+    * The workbook's existing date style is reused, so repeated saves do not add styles to the file.
     *
     * @param workbook The Excel workbook to create the style for.
     * @return The configured CellStyle.
     */
     private static CellStyle setDateCellStyle(Workbook workbook) {
         CreationHelper createHelper = workbook.getCreationHelper();
+        short format = createHelper.createDataFormat().getFormat("d/M/yyyy");
+        for (int i = 0; i < workbook.getNumCellStyles(); i++) {
+            CellStyle style = workbook.getCellStyleAt(i);
+            if (style.getDataFormat() == format) return style;
+        }
+
         CellStyle dateCellStyle = workbook.createCellStyle();
-        dateCellStyle.setDataFormat(createHelper.createDataFormat().getFormat("d/M/yyyy"));
+        dateCellStyle.setDataFormat(format);
         return dateCellStyle;
     }
 
     /**
-    * Updates the password of a user in the corresponding Excel sheet based on their role.
-    * The password is persisted directly into the Excel file used for login.
+    * Returns a bold cell style for header rows, reusing one already in the workbook if present.
     *
-    * @param user The user whose password is being updated.
-    * @param newPassword The new password to store.
+    * @param workbook The Excel workbook to create the style for.
+    * @return The configured CellStyle.
     */
-    public static void updateUserPassword(User user, String newPassword) {    
-        String sheetName;
-
-        switch (user.getRole()) {
-            case "Applicant" -> sheetName = "Applicants";
-            case "HDBOfficer" -> sheetName = "Officers";
-            case "HDBManager" -> sheetName = "Managers";
-            default -> {
-                System.out.println("Unknown role: " + user.getRole());
-                return;
-            }
+    private static CellStyle setHeaderCellStyle(Workbook workbook) {
+        for (int i = 0; i < workbook.getNumCellStyles(); i++) {
+            CellStyle style = workbook.getCellStyleAt(i);
+            if (style.getDataFormat() == 0 && workbook.getFontAt(style.getFontIndex()).getBold()) return style;
         }
 
+        Font font = workbook.createFont();
+        font.setBold(true);
+        CellStyle headerCellStyle = workbook.createCellStyle();
+        headerCellStyle.setFont(font);
+        return headerCellStyle;
+    }
+
+    /**
+    * Opens the workbook once, applies the given changes, and writes it back in a single pass.
+    * Synchronized with the password writer so two threads never rewrite the file at once.
+    * <p>
+    * If the changes ask for it, the "FlatBookings" sheet is rewritten in full while writing,
+    * streamed from the application registry (see {@link #streamApplications}).
+    *
+    * @param changes Applies the edits to the opened workbook, returning true if "FlatBookings" must be rewritten in full.
+    * @throws IOException If the workbook cannot be read or written.
+    */
+    private static synchronized void updateWorkbook(Predicate<Workbook> changes) throws IOException {
         try (FileInputStream fis = new FileInputStream(filePath);
-            Workbook workbook = WorkbookFactory.create(fis)) {
+             XSSFWorkbook workbook = new XSSFWorkbook(fis)) {
+            workbook.getProperties().getCoreProperties().setRevision(String.valueOf(generation));
+            if (changes.test(workbook)) {
+                streamApplications(workbook);
+            } else {
+                writeAtomically(workbook);
+            }
+        }
+    }
 
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet == null) {
-                System.out.println("Sheet not found for role: " + sheetName);
-                return;
+    /**
+    * Writes the workbook to a temporary file beside the original and then moves it over the original.
+    * The original file is never left half-written: readers see either the old or the new workbook.
+    *
+    * @param workbook The workbook to persist.
+    * @throws IOException If writing or replacing the file fails.
+    */
+    private static void writeAtomically(Workbook workbook) throws IOException {
+        Path target = Paths.get(filePath).toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), "CombinedExcel", ".tmp");
+
+        try {
+            try (FileOutputStream fos = new FileOutputStream(temp.toFile())) {
+                workbook.write(fos);
+                fos.getFD().sync(); // make sure the bytes are on disk before the rename
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
             }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
 
-            boolean found = false;
+    /**
+    * Returns the named sheet with every row except the header removed, creating it if missing.
+    *
+    * @param workbook The workbook containing the sheet.
+    * @param sheetName The name of the sheet.
+    * @return The cleared sheet.
+    */
+    private static Sheet clearSheet(Workbook workbook, String sheetName) {
+        Sheet sheet = workbook.getSheet(sheetName);
+        if (sheet == null) {
+            return workbook.createSheet(sheetName);
+        }
 
-            for (Row row : sheet) {
-                Cell nricCell = row.getCell(1);
-                if (nricCell != null && user.getNric().equalsIgnoreCase(nricCell.getStringCellValue())) {
-                    Cell passwordCell = row.getCell(4);
-                    if (passwordCell == null)
-                        passwordCell = row.createCell(4);
+        int lastRow = sheet.getLastRowNum();
+        for (int i = lastRow; i >= 1; i--) {
+            Row row = sheet.getRow(i);
+            if (row != null) sheet.removeRow(row);
+        }
+        return sheet;
+    }
 
-                    passwordCell.setCellValue(newPassword);
-                    found = true;
-                    break;
+    /**
+    * Updates the passwords of several users in one pass over the workbook.
+    * Each role sheet is scanned once, and the workbook is written back only if a row changed.
+    * The password stored is the user's current one, so repeated changes collapse into the latest.
+    *
+    * @param users The users whose passwords should be persisted.
+    * @return True if the workbook was read and saved; false if an I/O error occurred.
+    *         Users missing from the workbook are reported but do not count as a failure.
+    */
+    public static boolean updateUserPasswords(Collection<User> users) {
+        Map<String, Map<String, User>> bySheet = new HashMap<>();
+        for (User user : users) {
+            String sheetName;
+            switch (user.getRole()) {
+                case "Applicant" -> sheetName = "Applicants";
+                case "HDBOfficer" -> sheetName = "Officers";
+                case "HDBManager" -> sheetName = "Managers";
+                default -> {
+                    System.out.println("Unknown role: " + user.getRole());
+                    continue;
                 }
             }
+            bySheet.computeIfAbsent(sheetName, k -> new HashMap<>()).put(user.getNric().toUpperCase(), user);
+        }
+
+        synchronized (ExcelWriter.class) {
+            try (FileInputStream fis = new FileInputStream(filePath);
+                Workbook workbook = WorkbookFactory.create(fis)) {
+
+                int updated = 0;
+                for (Map.Entry<String, Map<String, User>> entry : bySheet.entrySet()) {
+                    Sheet sheet = workbook.getSheet(entry.getKey());
+                    if (sheet == null) {
+                        System.out.println("Sheet not found for role: " + entry.getKey());
+                        continue;
+                    }
+
+                    Map<String, User> remaining = new HashMap<>(entry.getValue());
+                    for (Row row : sheet) {
+                        if (remaining.isEmpty()) break;
+                        Cell nricCell = row.getCell(1);
+                        if (nricCell == null || nricCell.getCellType() != CellType.STRING) continue;
+
+                        User user = remaining.remove(nricCell.getStringCellValue().toUpperCase());
+                        if (user == null) continue;
+
+                        Cell passwordCell = row.getCell(4);
+                        if (passwordCell == null)
+                            passwordCell = row.createCell(4);
 
-            if (found) {
-                try (FileOutputStream fos = new FileOutputStream(filePath)) {
-                    workbook.write(fos);
-                    System.out.println("Password updated in Excel.");
+                        passwordCell.setCellValue(user.getPassword());
+                        updated++;
+                    }
+
+                    for (User missing : remaining.values()) {
+                        System.out.println("User not found in Excel: " + missing.getNric());
+                    }
                 }
-            } else {
-                System.out.println("User not found in Excel.");
-            }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.out.println("Error updating password in Excel.");
+                if (updated > 0) {
+                    writeAtomically(workbook);
+                }
+                return true;
+
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.out.println("Error updating passwords in Excel.");
+                return false;
+            }
         }
     }
 
     /**
     * Exports all submitted applications to the "FlatBookings" sheet in the Excel file.
-    * If the sheet exists, it is cleared and rewritten with updated data.
+    * If the sheet exists, it is replaced with updated data.
+    * <p>
+    * Rows are streamed through an {@link SXSSFWorkbook}, so only {@value #STREAM_WINDOW} rows are
+    * held in memory at a time regardless of how many applications are exported.
     */
     public static void exportApplications() {
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = WorkbookFactory.create(fis)) {
-    
-            Sheet sheet = workbook.getSheet("FlatBookings");
-            if (sheet == null) {
-                sheet = workbook.createSheet("FlatBookings");
-            } else {
-                int lastRow = sheet.getLastRowNum();
-                for (int i = lastRow; i >= 1; i--) {
-                    Row row = sheet.getRow(i);
-                    if (row != null) sheet.removeRow(row);
-                }
-            }
-    
-            // Header
-            Row header = sheet.createRow(0);
-            header.createCell(0).setCellValue("Name");
-            header.createCell(1).setCellValue("NRIC");
-            header.createCell(2).setCellValue("Age");
-            header.createCell(3).setCellValue("Marital Status");
-            header.createCell(4).setCellValue("Flat Type Booked");
-            header.createCell(5).setCellValue("Project Name");
-            header.createCell(6).setCellValue("Application Submission Date");
-            header.createCell(7).setCellValue("Application Status");
-    
-            int rowNum = 1;
-            for (Application app : ApplicationRegistry.getAllApplications().values().stream().flatMap(List::stream).toList()) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(app.getApplicant().getName());
-                row.createCell(1).setCellValue(app.getApplicant().getNric());
-                row.createCell(2).setCellValue(app.getApplicant().getAge());
-                row.createCell(3).setCellValue(app.getApplicant().getMaritalStatus());
-                row.createCell(4).setCellValue(app.getFlatType());
-                row.createCell(5).setCellValue(app.getProject().getName());
-
-                CellStyle dateCellStyle = setDateCellStyle(workbook);
-                Cell dateCell = row.createCell(6);
-                dateCell.setCellValue(java.sql.Date.valueOf(app.getApplicationDate()));
-                dateCell.setCellStyle(dateCellStyle);
-
-                row.createCell(7).setCellValue(app.getStatus().toString());
-            }
-    
-            try (FileOutputStream fos = new FileOutputStream(filePath)) {
-                workbook.write(fos);
-                System.out.println("Applications exported to Excel.");
-            }
-    
+        Registries.Changes<Application> changes = ApplicationRegistry.takeChanges(); // later changes stay unsaved
+        try {
+            updateWorkbook(workbook -> true);
+            System.out.println("Applications exported to Excel.");
         } catch (Exception e) {
+            ApplicationRegistry.restoreChanges(changes);
             e.printStackTrace();
             System.out.println("Error exporting applications to Excel.");
         }
-    }    
+    }
 
     /**
     * Exports all project listings to the "ProjectListings" sheet in the Excel file.
     * Includes flat type breakdowns, officer assignments, and visibility status.
     */
     public static void exportProjects() {
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = WorkbookFactory.create(fis)) {
-    
-            Sheet sheet = workbook.getSheet("ProjectListings");
-            if (sheet == null) {
-                sheet = workbook.createSheet("ProjectListings");
-            } else {
-                int lastRow = sheet.getLastRowNum();
-                for (int i = lastRow; i >= 1; i--) {
-                    Row row = sheet.getRow(i);
-                    if (row != null) sheet.removeRow(row);
-                }
-            }
-    
-            // Create header row
-            Row header = sheet.createRow(0);
-            header.createCell(0).setCellValue("Project Name");
-            header.createCell(1).setCellValue("Neighborhood");
-            header.createCell(2).setCellValue("Type 1");
-            header.createCell(3).setCellValue("Units Type 1");
-            header.createCell(4).setCellValue("Price");
-            header.createCell(5).setCellValue("Type 2");
-            header.createCell(6).setCellValue("Units Type 2");
-            header.createCell(7).setCellValue("Price");
-            header.createCell(8).setCellValue("Open Date");
-            header.createCell(9).setCellValue("Close Date");
-            header.createCell(10).setCellValue("Manager");
-            header.createCell(11).setCellValue("Max Officer Slots");
-            header.createCell(12).setCellValue("Officer");
-            header.createCell(13).setCellValue("Visibility");
-        
-            int rowNum = 1;
-    
-            for (Project project : ProjectRegistry.getAllProjects()) {
-                Row row = sheet.createRow(rowNum++);
-    
-                row.createCell(0).setCellValue(project.getName());
-                row.createCell(1).setCellValue(project.getNeighborhood());
-
-                List<FlatType> flatList = new ArrayList<>(project.getFlatTypes().values());
-                if (flatList.size() > 0) {
-                    FlatType ft1 = flatList.get(0);
-                    row.createCell(2).setCellValue("2-Room");
-                    row.createCell(3).setCellValue(ft1.getTotalUnits());
-                    row.createCell(4).setCellValue(ft1.getPrice());
-                }
-                if (flatList.size() > 1) {
-                    FlatType ft2 = flatList.get(1);
-                    row.createCell(5).setCellValue("3-Room");
-                    row.createCell(6).setCellValue(ft2.getTotalUnits());
-                    row.createCell(7).setCellValue(ft2.getPrice());
-                }
-
-                CellStyle dateCellStyle = setDateCellStyle(workbook);
-
-                Cell openDateCell = row.createCell(8);
-                openDateCell.setCellValue(java.sql.Date.valueOf(project.getOpenDate()));
-                openDateCell.setCellStyle(dateCellStyle);
-
-                Cell closeDateCell = row.createCell(9);
-                closeDateCell.setCellValue(java.sql.Date.valueOf(project.getCloseDate()));
-                closeDateCell.setCellStyle(dateCellStyle);
-
-                row.createCell(10).setCellValue(project.getManagerName());
-                row.createCell(11).setCellValue(project.getMaxOfficerSlots());
-    
-                // Officers
-                String officers = String.join(",", project.getOfficerList());
-                row.createCell(12).setCellValue(officers);
-    
-                // Visibility
-                row.createCell(13).setCellValue(project.isVisible() ? "true" : "false");
-            }
-    
-            try (FileOutputStream fos = new FileOutputStream(filePath)) {
-                workbook.write(fos);
-                System.out.println("Projects exported to Excel.");
-            }
-    
+        Registries.Changes<Project> changes = ProjectRegistry.takeChanges();
+        try {
+            updateWorkbook(workbook -> {
+                writeProjects(workbook);
+                return false;
+            });
+            System.out.println("Projects exported to Excel.");
         } catch (Exception e) {
+            ProjectRegistry.restoreChanges(changes);
             e.printStackTrace();
             System.out.println("Error exporting projects to Excel.");
         }
     }
-    
+
     /**
     * Exports all user enquiries and replies to the "Enquiries" sheet in the Excel file.
     */
     public static void exportEnquiries() {
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = WorkbookFactory.create(fis)) {
-    
-            Sheet sheet = workbook.getSheet("Enquiries");
-            if (sheet == null) {
-                sheet = workbook.createSheet("Enquiries");
-            } else {
-                int lastRow = sheet.getLastRowNum();
-                for (int i = lastRow; i >= 1; i--) {
-                    Row row = sheet.getRow(i);
-                    if (row != null) sheet.removeRow(row);
-                }
-            }
-    
-            // Create header
-            Row header = sheet.createRow(0);
-            header.createCell(0).setCellValue("Enquiry ID");
-            header.createCell(1).setCellValue("Sender NRIC");
-            header.createCell(2).setCellValue("Project Name");
-            header.createCell(3).setCellValue("Content");
-            header.createCell(4).setCellValue("Reply");
-            header.createCell(5).setCellValue("Replied By");
-    
-            int rowNum = 1;
-    
-            for (Enquiry enquiry : EnquiryRegistry.getAllEnquiries()) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(enquiry.getEnquiryId());
-                row.createCell(1).setCellValue(enquiry.getSenderNRIC());
-                row.createCell(2).setCellValue(enquiry.getProjectName());
-                row.createCell(3).setCellValue(enquiry.getContent());
-                row.createCell(4).setCellValue(enquiry.getReply() != null ? enquiry.getReply() : "");
-                row.createCell(5).setCellValue(enquiry.getReplyBy() != null ? enquiry.getReplyBy() : "");
-            }
-    
-            try (FileOutputStream fos = new FileOutputStream(filePath)) {
-                workbook.write(fos);
-                System.out.println("Enquiries exported to Excel.");
-            }
-    
+        Registries.Changes<Enquiry> changes = EnquiryRegistry.takeChanges();
+        try {
+            updateWorkbook(workbook -> {
+                writeEnquiries(workbook);
+                return false;
+            });
+            System.out.println("Enquiries exported to Excel.");
         } catch (Exception e) {
+            EnquiryRegistry.restoreChanges(changes);
             e.printStackTrace();
             System.out.println("Error exporting enquiries to Excel.");
         }
     }
-    
+
+    /**
+    * Writes an open workbook to the file with its "FlatBookings" sheet rebuilt from the registry.
+    * The existing sheet is dropped and recreated as a streaming sheet at the same position, so
+    * only {@value #STREAM_WINDOW} new rows are held in memory at a time however many applications
+    * are written; every other sheet, including changes already made to it, is written unchanged.
+    *
+    * @param template The opened workbook.
+    * @throws IOException If the workbook cannot be written.
+    */
+    private static void streamApplications(XSSFWorkbook template) throws IOException {
+        int index = template.getSheetIndex("FlatBookings");
+        if (index >= 0) template.removeSheetAt(index);
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(template, STREAM_WINDOW);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("FlatBookings");
+            if (index >= 0) workbook.setSheetOrder("FlatBookings", index);
+
+            writeApplicationRows(sheet, setHeaderCellStyle(workbook), setDateCellStyle(workbook));
+            writeAtomically(workbook);
+        } finally {
+            workbook.dispose(); // delete the temporary row files
+        }
+    }
+
+    /**
+    * Writes the header and one row per application into an empty "FlatBookings" sheet.
+    * Styles are passed in so they are created once per workbook and shared by every row.
+    *
+    * @param sheet The sheet to write into.
+    * @param headerCellStyle The shared header style.
+    * @param dateCellStyle The shared date style.
+    */
+    private static void writeApplicationRows(Sheet sheet, CellStyle headerCellStyle, CellStyle dateCellStyle) {
+        // Header
+        Row header = sheet.createRow(0);
+        String[] titles = {"Name", "NRIC", "Age", "Marital Status", "Flat Type Booked",
+                           "Project Name", "Application Submission Date", "Application Status"};
+        for (int i = 0; i < titles.length; i++) {
+            Cell cell = header.createCell(i);
+            cell.setCellValue(titles[i]);
+            cell.setCellStyle(headerCellStyle);
+        }
+
+        int[] rowNum = {1};
+        ApplicationRegistry.getAllApplications().values().stream()
+            .flatMap(List::stream)
+            .forEachOrdered(app -> fillApplicationRow(sheet.createRow(rowNum[0]++), app, dateCellStyle));
+    }
+
+    /**
+    * Writes a single application into a "FlatBookings" row.
+    *
+    * @param row The row to fill.
+    * @param app The application to write.
+    * @param dateCellStyle The shared date style of the workbook.
+    */
+    private static void fillApplicationRow(Row row, Application app, CellStyle dateCellStyle) {
+        row.createCell(0).setCellValue(app.getApplicant().getName());
+        row.createCell(1).setCellValue(app.getApplicant().getNric());
+        row.createCell(2).setCellValue(app.getApplicant().getAge());
+        row.createCell(3).setCellValue(app.getApplicant().getMaritalStatus());
+        row.createCell(4).setCellValue(app.getFlatType());
+        row.createCell(5).setCellValue(app.getProject().getName());
+
+        Cell dateCell = row.createCell(6);
+        dateCell.setCellValue(java.sql.Date.valueOf(app.getApplicationDate()));
+        dateCell.setCellStyle(dateCellStyle);
+
+        row.createCell(7).setCellValue(app.getStatus().toString());
+    }
+
+    /**
+    * Rewrites the "ProjectListings" sheet of an open workbook from the project registry.
+    *
+    * @param workbook The workbook to update.
+    */
+    private static void writeProjects(Workbook workbook) {
+        Sheet sheet = clearSheet(workbook, "ProjectListings");
+
+        // Create header row
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("Project Name");
+        header.createCell(1).setCellValue("Neighborhood");
+        header.createCell(2).setCellValue("Type 1");
+        header.createCell(3).setCellValue("Units Type 1");
+        header.createCell(4).setCellValue("Price");
+        header.createCell(5).setCellValue("Type 2");
+        header.createCell(6).setCellValue("Units Type 2");
+        header.createCell(7).setCellValue("Price");
+        header.createCell(8).setCellValue("Open Date");
+        header.createCell(9).setCellValue("Close Date");
+        header.createCell(10).setCellValue("Manager");
+        header.createCell(11).setCellValue("Max Officer Slots");
+        header.createCell(12).setCellValue("Officer");
+        header.createCell(13).setCellValue("Visibility");
+
+        CellStyle dateCellStyle = setDateCellStyle(workbook);
+        int rowNum = 1;
+        for (Project project : ProjectRegistry.getAllProjects()) {
+            fillProjectRow(sheet.createRow(rowNum++), project, dateCellStyle);
+        }
+    }
+
     /**
-    * Performs a complete export of applications, projects, and enquiries.
-    * Called during system shutdown to persist all in-memory data.
+    * Writes a single project into a "ProjectListings" row.
+    *
+    * @param row The row to fill.
+    * @param project The project to write.
+    * @param dateCellStyle The shared date style of the workbook.
     */
-    public static void saveData() {
-        exportApplications();
-        exportProjects();
-        exportEnquiries();
-        System.out.println("Data saved successfully!");
+    private static void fillProjectRow(Row row, Project project, CellStyle dateCellStyle) {
+        row.createCell(0).setCellValue(project.getName());
+        row.createCell(1).setCellValue(project.getNeighborhood());
+
+        List<FlatType> flatList = new ArrayList<>(project.getFlatTypes().values());
+        if (flatList.size() > 0) {
+            FlatType ft1 = flatList.get(0);
+            row.createCell(2).setCellValue("2-Room");
+            row.createCell(3).setCellValue(ft1.getTotalUnits());
+            row.createCell(4).setCellValue(ft1.getPrice());
+        }
+        if (flatList.size() > 1) {
+            FlatType ft2 = flatList.get(1);
+            row.createCell(5).setCellValue("3-Room");
+            row.createCell(6).setCellValue(ft2.getTotalUnits());
+            row.createCell(7).setCellValue(ft2.getPrice());
+        }
+
+        Cell openDateCell = row.createCell(8);
+        openDateCell.setCellValue(java.sql.Date.valueOf(project.getOpenDate()));
+        openDateCell.setCellStyle(dateCellStyle);
+
+        Cell closeDateCell = row.createCell(9);
+        closeDateCell.setCellValue(java.sql.Date.valueOf(project.getCloseDate()));
+        closeDateCell.setCellStyle(dateCellStyle);
+
+        row.createCell(10).setCellValue(project.getManagerName());
+        row.createCell(11).setCellValue(project.getMaxOfficerSlots());
+
+        // Officers
+        String officers = String.join(",", project.getOfficerList());
+        row.createCell(12).setCellValue(officers);
+
+        // Visibility
+        row.createCell(13).setCellValue(project.isVisible() ? "true" : "false");
+    }
+
+    /**
+    * Rewrites the "Enquiries" sheet of an open workbook from the enquiry registry.
+    *
+    * @param workbook The workbook to update.
+    */
+    private static void writeEnquiries(Workbook workbook) {
+        Sheet sheet = clearSheet(workbook, "Enquiries");
+
+        // Create header
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("Enquiry ID");
+        header.createCell(1).setCellValue("Sender NRIC");
+        header.createCell(2).setCellValue("Project Name");
+        header.createCell(3).setCellValue("Content");
+        header.createCell(4).setCellValue("Reply");
+        header.createCell(5).setCellValue("Replied By");
+
+        int rowNum = 1;
+        for (Enquiry enquiry : EnquiryRegistry.getAllEnquiries()) {
+            fillEnquiryRow(sheet.createRow(rowNum++), enquiry);
+        }
+    }
+
+    /**
+    * Writes a single enquiry into an "Enquiries" row.
+    *
+    * @param row The row to fill.
+    * @param enquiry The enquiry to write.
+    */
+    private static void fillEnquiryRow(Row row, Enquiry enquiry) {
+        row.createCell(0).setCellValue(enquiry.getEnquiryId());
+        row.createCell(1).setCellValue(enquiry.getSenderNRIC());
+        row.createCell(2).setCellValue(enquiry.getProjectName());
+        row.createCell(3).setCellValue(enquiry.getContent());
+        row.createCell(4).setCellValue(enquiry.getReply() != null ? enquiry.getReply() : "");
+        row.createCell(5).setCellValue(enquiry.getReplyBy() != null ? enquiry.getReplyBy() : "");
+    }
+
+    // ===== Incremental Saves =====
+
+    /**
+    * Rewrites only the rows whose keys match the changed items, appending rows for items
+    * that are not in the sheet yet. Untouched rows are left exactly as they are.
+    *
+    * @param sheet The sheet to update.
+    * @param changed The changed items, keyed the same way as {@code keyOf}.
+    * @param keyOf Extracts the key of an existing row, or null if the row has none.
+    * @param fill Writes an item into a row.
+    */
+    private static <T> void updateRows(Sheet sheet, Map<String, T> changed, Function<Row, String> keyOf, BiConsumer<Row, T> fill) {
+        Map<String, T> remaining = new LinkedHashMap<>(changed);
+
+        for (int i = 1; i <= sheet.getLastRowNum() && !remaining.isEmpty(); i++) {
+            Row row = sheet.getRow(i);
+            if (row == null) continue;
+
+            String key = keyOf.apply(row);
+            T item = key == null ? null : remaining.remove(key);
+            if (item != null) fill.accept(row, item);
+        }
+
+        int rowNum = sheet.getLastRowNum() + 1;
+        for (T item : remaining.values()) {
+            fill.accept(sheet.createRow(rowNum++), item);
+        }
+    }
+
+    /**
+    * Reads a key cell as text. Numeric cells are read as whole numbers.
+    */
+    private static String cellKey(Row row, int column) {
+        Cell cell = row.getCell(column);
+        if (cell == null) return null;
+        return switch (cell.getCellType()) {
+            case STRING -> cell.getStringCellValue().trim();
+            case NUMERIC -> String.valueOf((long) cell.getNumericCellValue());
+            default -> null;
+        };
+    }
+
+    private static String applicationKey(String nric, String projectName) {
+        return nric.trim().toUpperCase() + "|" + projectName.trim().toLowerCase();
+    }
+
+    /**
+    * Returns how many earlier applications the same applicant made to the same project.
+    * An applicant may apply to a project again after an unsuccessful or withdrawn result, and
+    * rows and applications both keep submission order, so this tells the repeat rows apart.
+    */
+    private static int applicationOrdinal(Application app) {
+        String key = applicationKey(app.getApplicant().getNric(), app.getProject().getName());
+        int ordinal = 0;
+        for (Application other : ApplicationRegistry.getApplicationByNRIC(app.getApplicant().getNric())) {
+            if (other == app) break;
+            if (applicationKey(other.getApplicant().getNric(), other.getProject().getName()).equals(key)) ordinal++;
+        }
+        return ordinal;
+    }
+
+    /**
+    * Brings the "FlatBookings" sheet up to date with the changed applications only.
+    *
+    * @param workbook The workbook to update.
+    * @param changes The application changes being saved.
+    * @return True if the sheet is missing and must be written in full instead.
+    */
+    private static boolean saveApplications(Workbook workbook, Registries.Changes<Application> changes) {
+        Sheet sheet = workbook.getSheet("FlatBookings");
+        if (sheet == null) return true;
+
+        // Keyed by NRIC, project and ordinal, since an applicant can have several rows for one project
+        Map<String, Application> changed = new LinkedHashMap<>();
+        for (Application app : changes.getItems()) {
+            changed.put(applicationKey(app.getApplicant().getNric(), app.getProject().getName()) + "#" + applicationOrdinal(app), app);
+        }
+
+        Map<String, Integer> seen = new HashMap<>(); // rows met so far per NRIC and project
+        CellStyle dateCellStyle = setDateCellStyle(workbook);
+        updateRows(sheet, changed, row -> {
+            String nric = cellKey(row, 1), project = cellKey(row, 5);
+            if (nric == null || project == null) return null;
+            String key = applicationKey(nric, project);
+            return key + "#" + (seen.merge(key, 1, Integer::sum) - 1);
+        }, (row, app) -> fillApplicationRow(row, app, dateCellStyle));
+        return false;
+    }
+
+    /**
+    * Brings the "ProjectListings" sheet up to date, rewriting it only if projects were removed.
+    *
+    * @param workbook The workbook to update.
+    * @param changes The project changes being saved.
+    */
+    private static void saveProjects(Workbook workbook, Registries.Changes<Project> changes) {
+        Sheet sheet = workbook.getSheet("ProjectListings");
+        if (sheet == null || changes.isStructural()) {
+            writeProjects(workbook);
+            return;
+        }
+
+        Map<String, Project> changed = new LinkedHashMap<>();
+        for (Project project : changes.getItems()) {
+            changed.put(project.getName().trim().toLowerCase(), project);
+        }
+
+        CellStyle dateCellStyle = setDateCellStyle(workbook);
+        updateRows(sheet, changed, row -> {
+            String name = cellKey(row, 0);
+            return name == null ? null : name.toLowerCase();
+        }, (row, project) -> fillProjectRow(row, project, dateCellStyle));
+    }
+
+    /**
+    * Brings the "Enquiries" sheet up to date, rewriting it only if enquiries were deleted.
+    *
+    * @param workbook The workbook to update.
+    * @param changes The enquiry changes being saved.
+    */
+    private static void saveEnquiries(Workbook workbook, Registries.Changes<Enquiry> changes) {
+        Sheet sheet = workbook.getSheet("Enquiries");
+        if (sheet == null || changes.isStructural()) {
+            writeEnquiries(workbook);
+            return;
+        }
+
+        Map<String, Enquiry> changed = new LinkedHashMap<>();
+        for (Enquiry enquiry : changes.getItems()) {
+            changed.put(String.valueOf(enquiry.getEnquiryId()), enquiry);
+        }
+
+        updateRows(sheet, changed, row -> cellKey(row, 0), ExcelWriter::fillEnquiryRow);
+    }
+
+    /**
+    * Saves every change made since the last save. Called during system shutdown.
+    * <p>
+    * Sheets whose registry has no changes are not touched, and if nothing changed at all the
+    * workbook is not opened. Changed sheets are updated row by row where possible and are only
+    * rewritten in full when rows were removed; a missing "FlatBookings" sheet is streamed back in full.
+    * The workbook is read once and written once to a temporary file that atomically replaces the original.
+    * <p>
+    * Each registry's changes are taken in one step before writing, so anything changed while the
+    * save runs stays marked for the next save. If the save fails, the taken changes are put back.
+    *
+    * @return True if there was nothing to save or the workbook was written successfully; false otherwise.
+    */
+    public static boolean saveData() {
+        Registries.Changes<Application> applications = ApplicationRegistry.takeChanges();
+        Registries.Changes<Project> projects = ProjectRegistry.takeChanges();
+        Registries.Changes<Enquiry> enquiries = EnquiryRegistry.takeChanges();
+
+        if (applications.isEmpty() && projects.isEmpty() && enquiries.isEmpty()) {
+            System.out.println("No changes to save.");
+            return true;
+        }
+
+        try {
+            updateWorkbook(workbook -> {
+                if (!projects.isEmpty()) saveProjects(workbook, projects);
+                if (!enquiries.isEmpty()) saveEnquiries(workbook, enquiries);
+                return !applications.isEmpty() && saveApplications(workbook, applications);
+            });
+            System.out.println("Data saved successfully!");
+            return true;
+        } catch (Exception e) {
+            ApplicationRegistry.restoreChanges(applications);
+            ProjectRegistry.restoreChanges(projects);
+            EnquiryRegistry.restoreChanges(enquiries);
+            e.printStackTrace();
+            System.out.println("Error saving data to Excel.");
+            return false;
+        }
     }
 }
@@ -3,12 +3,14 @@ package util;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
 * Utility for applying a Filter object to a list of ISearchable items.
 * Returns a filtered list based on matching logic.
-* 
+*
+* The filter is compiled once per call into a {@link CompiledFilter}, so criteria are
+* normalized once instead of once per item.
+*
 * @author Javier
 * @version 1.0
 */
@@ -18,15 +20,18 @@ public class FilterUtil {
     *
     * @param items The generic type of items to filter.
     * @param filter The filter criteria.
-    * @return A new list of filtered items.
+    * @return A new list of filtered items, in the collection's order.
     */
     public static <T extends ISearchable> List<T> applyFilter(Collection<T> items, Filter filter) {
         if (filter == null || filter.isEmpty()) {
             return new ArrayList<>(items); // no filter applied
         }
 
-        return items.stream()
-                    .filter(item -> item.matches(filter))
-                    .collect(Collectors.toList());
+        CompiledFilter compiled = CompiledFilter.compile(filter);
+        List<T> result = new ArrayList<>();
+        for (T item : items) {
+            if (item.matches(compiled)) result.add(item);
+        }
+        return result;
     }
 }
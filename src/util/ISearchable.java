@@ -15,4 +15,16 @@ public interface ISearchable {
     * @return True if the object matches the filter; false otherwise.
     */
     boolean matches(Filter filter);
+
+    /**
+    * Determines whether the current object matches a compiled filter.
+    * Implementations should override this with a matcher that uses the pre-normalized criteria;
+    * the default falls back to the uncompiled filter.
+    *
+    * @param filter The compiled filter to apply.
+    * @return True if the object matches the filter; false otherwise.
+    */
+    default boolean matches(CompiledFilter filter) {
+        return matches(filter.getSource());
+    }
 }
@@ -0,0 +1,458 @@
+package util;
+
+import model.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Append-only write-ahead journal of every in-memory mutation made during a session.
+* <p>
+* Each record is one tab-separated line describing the new state of a single entity
+* (an application, a project, an officer registration, and so on). Records are buffered and
+* forced to disk in batches: every {@value #SYNC_BATCH} records, or at most
+* {@value #SYNC_INTERVAL_MS} ms after the last unsynced write.
+* <p>
+* On startup the journal is replayed on top of the Excel snapshot, and once the workbook has
+* been saved the journal is truncated (compaction), since everything in it is now in Excel.
+* A compacted journal starts with the save generation it builds on, so a journal that a later
+* snapshot or workbook already contains is not replayed twice.
+* Recording is a no-op until {@link #open(String)} is called, so controllers used in isolation
+* (for example in tests) never touch the file system.
+*
+* @author Javier
+* @version 1.0
+*/
+public class Journal {
+    private static final int SYNC_BATCH = 64;
+    private static final long SYNC_INTERVAL_MS = 200;
+
+    private static FileOutputStream out;
+    private static Writer writer;
+    private static int unsynced = 0;
+    private static ScheduledExecutorService syncer;
+
+    /**
+    * Opens the journal for appending and starts the background sync task.
+    *
+    * @param path Path to the journal file.
+    */
+    public static synchronized void open(String path) {
+        if (out != null) return;
+        try {
+            out = new FileOutputStream(path, true);
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Unable to open journal: " + e.getMessage());
+            out = null;
+            return;
+        }
+
+        syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "journal-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        syncer.scheduleWithFixedDelay(Journal::sync, SYNC_INTERVAL_MS, SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+    * Checks whether the journal is currently accepting records.
+    *
+    * @return True if the journal is open.
+    */
+    public static synchronized boolean isOpen() {
+        return out != null;
+    }
+
+    /**
+    * Flushes buffered records and forces them to disk.
+    */
+    public static synchronized void sync() {
+        if (out == null || unsynced == 0) return;
+        try {
+            writer.flush();
+            out.getFD().sync();
+            unsynced = 0;
+        } catch (IOException e) {
+            System.out.println("Error syncing journal: " + e.getMessage());
+        }
+    }
+
+    /**
+    * Syncs any pending records and closes the journal.
+    */
+    public static synchronized void close() {
+        if (out == null) return;
+        sync();
+        syncer.shutdownNow();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.println("Error closing journal: " + e.getMessage());
+        }
+        out = null;
+        writer = null;
+    }
+
+    /**
+    * Discards every record in the journal. Called once the workbook holds all journalled changes.
+    */
+    public static synchronized void compact() {
+        if (out == null) return;
+        try {
+            writer.flush();
+            out.getChannel().truncate(0);
+            out.getFD().sync();
+            unsynced = 0;
+        } catch (IOException e) {
+            System.out.println("Error compacting journal: " + e.getMessage());
+        }
+    }
+
+    /**
+    * Discards every record in the journal and starts it at the given save generation.
+    * Records written from now on apply on top of the snapshot and workbook of that generation.
+    *
+    * @param generation The generation just saved.
+    */
+    public static synchronized void compact(long generation) {
+        if (out == null) return;
+        compact();
+        append("GEN", generation);
+        sync();
+    }
+
+    // ===== Record helpers =====
+
+    /**
+    * Records the current state of an application. The application is identified by its
+    * applicant's NRIC and its position in that applicant's list of applications.
+    *
+    * @param app The application that was created or changed.
+    */
+    public static void recordApplication(Application app) {
+        String nric = app.getApplicant().getNric();
+        int index = ApplicationRegistry.getApplicationByNRIC(nric).indexOf(app);
+        append("APP", nric, index, app.getProject().getName(), app.getFlatType(), app.getApplicationDate(),
+            app.getStatus(), app.isWithdrawalRequested());
+    }
+
+    /**
+    * Records the full state of a project, including its flat types and officers.
+    *
+    * @param project The project that was created or changed.
+    */
+    public static void recordProject(Project project) {
+        StringJoiner flats = new StringJoiner(";");
+        for (FlatType ft : project.getFlatTypes().values()) {
+            flats.add(ft.getType() + "=" + ft.getTotalUnits() + "/" + ft.getRemainingUnits() + "/" + ft.getPrice());
+        }
+        append("PROJECT", project.getName(), project.getNeighborhood(), project.getOpenDate(), project.getCloseDate(),
+            project.isVisible(), project.getMaxOfficerSlots(), project.getManagerName(),
+            String.join(",", project.getOfficerList()), flats);
+    }
+
+    /**
+    * Records the deletion of a project.
+    *
+    * @param projectName The name of the deleted project.
+    */
+    public static void recordProjectDeleted(String projectName) {
+        append("PROJECT_DEL", projectName);
+    }
+
+    /**
+    * Records an officer's registration status for a project and their current assignment.
+    *
+    * @param officer The officer whose registration changed.
+    * @param projectName The project the registration refers to.
+    */
+    public static void recordOfficerRegistration(HDBOfficer officer, String projectName) {
+        append("OFFICER", officer.getNric(), projectName, officer.getRegistrationStatus(projectName),
+            officer.getAssignedProject() != null ? officer.getAssignedProject() : "");
+    }
+
+    /**
+    * Records a manager's currently assigned project.
+    *
+    * @param manager The manager whose assignment changed.
+    */
+    public static void recordManager(HDBManager manager) {
+        append("MANAGER", manager.getNric(), manager.getAssignedProject() != null ? manager.getAssignedProject() : "");
+    }
+
+    /**
+    * Records a newly submitted enquiry.
+    *
+    * @param enquiry The enquiry that was added.
+    */
+    public static void recordEnquiryAdded(Enquiry enquiry) {
+        append("ENQ_ADD", enquiry.getSenderNRIC(), enquiry.getProjectName(), enquiry.getContent());
+    }
+
+    /**
+    * Records the current content and reply of an existing enquiry.
+    *
+    * @param enquiry The enquiry that was edited or replied to.
+    */
+    public static void recordEnquiry(Enquiry enquiry) {
+        append("ENQ", enquiry.getEnquiryId(), enquiry.getContent(),
+            enquiry.getReply() != null ? enquiry.getReply() : "",
+            enquiry.getReplyBy() != null ? enquiry.getReplyBy() : "");
+    }
+
+    /**
+    * Records the deletion of an enquiry.
+    *
+    * @param id The ID of the deleted enquiry.
+    * @param senderNRIC The NRIC of the sender who deleted it.
+    */
+    public static void recordEnquiryDeleted(int id, String senderNRIC) {
+        append("ENQ_DEL", id, senderNRIC);
+    }
+
+    /**
+    * Records a password change.
+    *
+    * @param user The user whose password changed.
+    */
+    public static void recordPassword(User user) {
+        append("PASSWORD", user.getNric(), user.getPassword());
+    }
+
+    /**
+    * Appends a single record, syncing to disk once a full batch has accumulated.
+    *
+    * @param type The record type.
+    * @param fields The record fields, written using {@code String.valueOf}.
+    */
+    private static synchronized void append(String type, Object... fields) {
+        if (out == null) return;
+
+        StringBuilder line = new StringBuilder(type);
+        for (Object field : fields) {
+            line.append('\t').append(escape(String.valueOf(field)));
+        }
+        line.append('\n');
+
+        try {
+            writer.write(line.toString());
+            if (++unsynced >= SYNC_BATCH) sync();
+        } catch (IOException e) {
+            System.out.println("Error writing journal: " + e.getMessage());
+        }
+    }
+
+    // ===== Replay =====
+
+    /**
+    * Replays a journal on top of the registries loaded from Excel.
+    * Records that refer to unknown users or projects are skipped.
+    *
+    * @param path Path to the journal file.
+    * @param users All registered users, keyed by NRIC.
+    * @return The number of records applied, or 0 if there is no journal.
+    */
+    public static int replay(String path, Map<String, User> users) {
+        return replay(path, users, 0);
+    }
+
+    /**
+    * Replays a journal on top of registries loaded from a snapshot or workbook of a known generation.
+    * A journal that starts from an older generation is already contained in what was loaded
+    * (the save stopped before compacting), so none of it is applied.
+    *
+    * @param path Path to the journal file.
+    * @param users All registered users, keyed by NRIC.
+    * @param loadedGeneration The generation of the data that was loaded.
+    * @return The number of records applied, or 0 if there is no journal or it is already contained.
+    */
+    public static int replay(String path, Map<String, User> users, long loadedGeneration) {
+        File file = new File(path);
+        if (!file.exists()) return 0;
+
+        int applied = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                String[] f = line.split("\t", -1);
+                for (int i = 0; i < f.length; i++) f[i] = unescape(f[i]);
+
+                try {
+                    if (f[0].equals("GEN")) {
+                        if (Long.parseLong(f[1]) >= loadedGeneration) continue;
+                        System.out.println("Journal is already contained in the loaded data. Skipping replay.");
+                        return applied;
+                    }
+                    if (apply(f, users)) applied++;
+                } catch (RuntimeException e) {
+                    System.out.println("Skipping malformed journal record: " + f[0]);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading journal: " + e.getMessage());
+        }
+        return applied;
+    }
+
+    /**
+    * Applies one journal record to the in-memory model.
+    *
+    * @param f The unescaped record fields; {@code f[0]} is the record type.
+    * @param users All registered users, keyed by NRIC.
+    * @return True if the record was applied.
+    */
+    private static boolean apply(String[] f, Map<String, User> users) {
+        switch (f[0]) {
+            case "APP" -> {
+                if (!(users.get(f[1]) instanceof Applicant applicant)) return false;
+                Project project = ProjectRegistry.getProjectByName(f[3]);
+                if (project == null) return false;
+
+                int index = Integer.parseInt(f[2]);
+                List<Application> apps = ApplicationRegistry.getApplicationByNRIC(f[1]);
+                Application app = null;
+                if (index < apps.size() && isRecorded(apps.get(index), f)) {
+                    app = apps.get(index);
+                } else if (index < apps.size()) {
+                    // The list was reordered or lost a row since the record was written
+                    List<Application> matches = new ArrayList<>();
+                    for (Application candidate : apps) {
+                        if (isRecorded(candidate, f)) matches.add(candidate);
+                    }
+                    if (matches.size() > 1) {
+                        System.out.println("Skipping ambiguous journal record for " + f[1] + " in " + f[3]);
+                        return false;
+                    }
+                    if (matches.size() == 1) app = matches.get(0);
+                }
+                if (app == null) {
+                    app = new Application(applicant, project, f[4]);
+                    ApplicationRegistry.addApplication(f[1], app);
+                }
+                app.setApplicationDate(LocalDate.parse(f[5]));
+                app.setStatus(Application.Status.valueOf(f[6]));
+                app.setWithdrawalRequested(Boolean.parseBoolean(f[7]));
+            }
+            case "PROJECT" -> {
+                Project project = ProjectRegistry.getProjectByName(f[1]);
+                if (project == null) {
+                    project = new Project(f[1], f[2], LocalDate.parse(f[3]), LocalDate.parse(f[4]),
+                        Boolean.parseBoolean(f[5]), Integer.parseInt(f[6]), f[7]);
+                    ProjectRegistry.addProject(project);
+                }
+                project.setNeighborhood(f[2]);
+                project.setOpenDate(LocalDate.parse(f[3]));
+                project.setCloseDate(LocalDate.parse(f[4]));
+                project.setVisibility(Boolean.parseBoolean(f[5]));
+                project.setMaxOfficerSlots(Integer.parseInt(f[6]));
+
+                for (String officer : f[8].split(",")) {
+                    if (!officer.isBlank() && !project.getOfficerList().contains(officer.trim())) {
+                        project.addOfficer(officer);
+                    }
+                }
+
+                for (String flat : f[9].split(";")) {
+                    if (flat.isBlank()) continue;
+                    String type = flat.substring(0, flat.lastIndexOf('='));
+                    String[] units = flat.substring(flat.lastIndexOf('=') + 1).split("/");
+                    FlatType ft = project.getFlatType(type);
+                    if (ft == null) {
+                        project.addFlatType(type, Integer.parseInt(units[0]), Integer.parseInt(units[2]));
+                        ft = project.getFlatType(type);
+                    }
+                    ft.setTotalUnits(Integer.parseInt(units[0]));
+                    ft.setRemainingUnits(Integer.parseInt(units[1]));
+                    ft.setPrice(Integer.parseInt(units[2]));
+                }
+            }
+            case "PROJECT_DEL" -> {
+                if (!ProjectRegistry.exists(f[1])) return false;
+                ProjectRegistry.removeProject(f[1]);
+            }
+            case "OFFICER" -> {
+                if (!(users.get(f[1]) instanceof HDBOfficer officer)) return false;
+                officer.setRegistrationStatus(f[2], HDBOfficer.RegistrationStatus.valueOf(f[3]));
+                officer.assignToProject(f[4].isEmpty() ? null : f[4]);
+            }
+            case "MANAGER" -> {
+                if (!(users.get(f[1]) instanceof HDBManager manager)) return false;
+                if (f[2].isEmpty()) manager.unassignProject();
+                else manager.assignToProject(f[2]);
+            }
+            case "ENQ_ADD" -> EnquiryRegistry.addEnquiry(new Enquiry(f[1], f[2], f[3]));
+            case "ENQ" -> {
+                Enquiry enquiry = EnquiryRegistry.getById(Integer.parseInt(f[1]));
+                if (enquiry == null) return false;
+                enquiry.setContent(f[2]);
+                if (!f[3].isEmpty()) enquiry.reply(f[3]);
+                if (!f[4].isEmpty()) enquiry.setReplyBy(f[4]);
+            }
+            case "ENQ_DEL" -> {
+                return EnquiryRegistry.deleteById(Integer.parseInt(f[1]), f[2]);
+            }
+            case "PASSWORD" -> {
+                User user = users.get(f[1]);
+                if (user == null) return false;
+                user.changePassword(f[2]);
+                PasswordWriter.enqueue(user); // the user sheets are only written by PasswordWriter
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+    * Checks whether an application is for the project and flat type of an "APP" record.
+    */
+    private static boolean isRecorded(Application app, String[] f) {
+        return app.getProject().getName().trim().equalsIgnoreCase(f[3].trim())
+            && app.getFlatType().trim().equalsIgnoreCase(f[4].trim());
+    }
+
+    // ===== Escaping =====
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String unescape(String s) {
+        if (s.indexOf('\\') < 0) return s;
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 1 < s.length()) {
+                char next = s.charAt(++i);
+                sb.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
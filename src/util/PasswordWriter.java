@@ -0,0 +1,118 @@
+package util;
+
+import model.User;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+* Queues password changes and persists them to Excel in the background.
+* <p>
+* Changes are coalesced per NRIC, so a user who changes their password several times
+* before a flush costs a single row update. Pending changes are written in batches,
+* one workbook pass per batch, either shortly after the first change or as soon as
+* {@value #BATCH_SIZE} users are waiting. {@link #shutdown()} flushes whatever is still
+* queued, and the journal covers anything lost to a crash before that.
+*
+* @author Javier
+* @version 1.0
+*/
+public class PasswordWriter {
+    private static final int BATCH_SIZE = 32;
+    private static final long FLUSH_DELAY_MS = 500;
+
+    private static final Map<String, User> pending = new LinkedHashMap<>();
+    private static final Object writeLock = new Object(); // one batch in flight at a time
+    private static ScheduledExecutorService executor;
+    private static ScheduledFuture<?> scheduledFlush;
+
+    /**
+    * Queues a user's current password to be written to Excel.
+    * Returns immediately; the write happens on a background thread.
+    *
+    * @param user The user whose password changed.
+    */
+    public static synchronized void enqueue(User user) {
+        pending.put(user.getNric().toUpperCase(), user); // later changes replace earlier ones
+
+        if (pending.size() >= BATCH_SIZE) {
+            if (scheduledFlush != null) scheduledFlush.cancel(false);
+            scheduledFlush = executor().schedule(PasswordWriter::flush, 0, TimeUnit.MILLISECONDS);
+        } else if (scheduledFlush == null || scheduledFlush.isDone()) {
+            scheduledFlush = executor().schedule(PasswordWriter::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+    * Writes every queued password change to Excel in one batch.
+    * If the write fails the batch is re-queued, unless a newer change for the same user arrived meanwhile.
+    * Waits for a batch already being written, so a true result means every change queued
+    * before the call is in the workbook.
+    *
+    * @return True if there was nothing to write or the batch was saved; false otherwise.
+    */
+    public static boolean flush() {
+        synchronized (writeLock) {
+            List<User> batch;
+            synchronized (PasswordWriter.class) {
+                if (pending.isEmpty()) return true;
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+            }
+            if (ExcelWriter.updateUserPasswords(batch)) return true;
+
+            synchronized (PasswordWriter.class) {
+                for (User user : batch) pending.putIfAbsent(user.getNric().toUpperCase(), user);
+            }
+            return false;
+        }
+    }
+
+    /**
+    * Returns the number of users whose password changes have not been written yet.
+    *
+    * @return The number of pending changes.
+    */
+    public static synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+    * Stops the background writer and synchronously flushes anything still queued.
+    * Call this on shutdown before the final save.
+    *
+    * @return True if all pending changes were written; false otherwise.
+    */
+    public static boolean shutdown() {
+        ScheduledExecutorService toStop;
+        synchronized (PasswordWriter.class) {
+            toStop = executor;
+            executor = null;
+            scheduledFlush = null;
+        }
+
+        if (toStop != null) {
+            toStop.shutdown();
+            try {
+                toStop.awaitTermination(5, TimeUnit.SECONDS); // let an in-flight batch finish
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return flush();
+    }
+
+    private static synchronized ScheduledExecutorService executor() {
+        if (executor == null) {
+            ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, "password-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            // a delayed flush that has not started yet is left to shutdown()
+            pool.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            executor = pool;
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,107 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+* Lazily evaluated query result that is read a page at a time.
+* <p>
+* Matches are produced on demand by {@link #advance()} and remembered, so fetching a page
+* only evaluates items up to the end of that page, and paging back costs nothing.
+* The total is only known once the source is exhausted, unless the source can count
+* matches without evaluating them.
+*
+* @param <T> The type of item returned by the query.
+*
+* @author Javier
+* @version 1.0
+*/
+public abstract class QueryCursor<T> {
+    private final List<T> fetched = new ArrayList<>();
+    private boolean exhausted;
+
+    /**
+    * Produces the next match.
+    *
+    * @return The next matching item, or null if there are no more.
+    */
+    protected abstract T advance();
+
+    /**
+    * Returns the total number of matches if it is known without evaluating the rest of the source.
+    * Subclasses that can count cheaply should override this.
+    *
+    * @return The total, or -1 if unknown.
+    */
+    protected int knownTotal() {
+        return -1;
+    }
+
+    /**
+    * Fetches a page of results, evaluating only as far as the end of that page.
+    *
+    * @param offset The index of the first result to return.
+    * @param limit The maximum number of results to return.
+    * @return The results in the requested range; empty if the offset is past the end.
+    */
+    public List<T> fetch(int offset, int limit) {
+        int end = offset + limit;
+        while (!exhausted && fetched.size() < end) {
+            T next = advance();
+            if (next == null) {
+                exhausted = true;
+            } else {
+                fetched.add(next);
+            }
+        }
+        if (offset >= fetched.size()) return new ArrayList<>();
+        return new ArrayList<>(fetched.subList(offset, Math.min(end, fetched.size())));
+    }
+
+    /**
+    * Checks whether any result exists at or after the given offset.
+    *
+    * @param offset The index to check.
+    * @return True if there is a result at that index.
+    */
+    public boolean hasResultAt(int offset) {
+        return !fetch(offset, 1).isEmpty();
+    }
+
+    /**
+    * Returns the total number of matches, if known so far.
+    *
+    * @return The total, or -1 if it cannot be known without evaluating further.
+    */
+    public int getTotal() {
+        return exhausted ? fetched.size() : knownTotal();
+    }
+
+    /**
+    * Creates a cursor over a list that yields the items matching a filter, in list order.
+    *
+    * @param items The items to query.
+    * @param filter The filter criteria; null or empty matches every item.
+    * @return A cursor over the matching items.
+    */
+    public static <T extends ISearchable> QueryCursor<T> of(List<T> items, Filter filter) {
+        CompiledFilter compiled = filter == null || filter.isEmpty() ? null : CompiledFilter.compile(filter);
+        return new QueryCursor<T>() {
+            private int position;
+
+            @Override
+            protected T advance() {
+                while (position < items.size()) {
+                    T item = items.get(position++);
+                    if (compiled == null || item.matches(compiled)) return item;
+                }
+                return null;
+            }
+
+            @Override
+            protected int knownTotal() {
+                return compiled == null ? items.size() : -1;
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+import model.ApplicationRegistry;
+import model.ProjectRegistry;
+
+/**
+* Least-recently-used cache of filter query results.
+* <p>
+* Results are keyed by a query scope and the normalized filter contents, and stamped with the
+* {@link ProjectRegistry} and {@link ApplicationRegistry} versions they were computed at.
+* Any change to a project, its flat type units or an application bumps one of those versions,
+* so a stale entry is recomputed the next time it is read instead of being returned.
+* <p>
+* The cache lock is only held to look up or replace an entry. A query runs outside it, as a
+* future stored in the entry, so sessions reading other keys are never held up, and sessions
+* reading the same key wait for that one computation instead of repeating it.
+*
+* @author Javier
+* @version 1.0
+*/
+public class ResultCache {
+    private static final int MAX_ENTRIES = 128;
+
+    private static final Map<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private static class Entry {
+        final long projectVersion;
+        final long applicationVersion;
+        final FutureTask<List<?>> result;
+
+        Entry(long projectVersion, long applicationVersion, FutureTask<List<?>> result) {
+            this.projectVersion = projectVersion;
+            this.applicationVersion = applicationVersion;
+            this.result = result;
+        }
+    }
+
+    /**
+    * Returns the cached result of a filter query, running the query if there is no
+    * up-to-date entry.
+    *
+    * @param scope Identifies the items being filtered (e.g. "projects" or a per-user project list).
+    * @param filter The filter criteria.
+    * @param query Computes the result when the cache cannot answer.
+    * @return A new list holding the query result.
+    */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> get(String scope, Filter filter, Supplier<List<T>> query) {
+        String key = scope + "|" + (filter == null ? "" : CompiledFilter.compile(filter).getKey());
+        long projectVersion = ProjectRegistry.getVersion();
+        long applicationVersion = ApplicationRegistry.getVersion();
+
+        Entry entry;
+        boolean computeHere = false;
+        synchronized (cache) {
+            entry = cache.get(key);
+            // Versions only increase, so an entry stamped at or after ours is current enough
+            if (entry == null || entry.projectVersion < projectVersion || entry.applicationVersion < applicationVersion) {
+                entry = new Entry(projectVersion, applicationVersion, new FutureTask<>(() -> List.copyOf(query.get())));
+                cache.put(key, entry);
+                computeHere = true;
+            }
+        }
+        if (computeHere) entry.result.run();
+
+        try {
+            return new ArrayList<>((List<T>) entry.result.get());
+        } catch (ExecutionException e) {
+            synchronized (cache) {
+                cache.remove(key, entry); // let the next read try again
+            }
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a query result", e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+* Gives each session thread its own console.
+* <p>
+* The CLIs read from {@code System.in} and write to {@code System.out}. Once {@link #install()}
+* has run, both become routers: a thread bound to a session with {@link #bind} reads from and
+* writes to that session's streams, and every other thread keeps using the real console.
+* Streams are chosen on each call rather than when a {@code Scanner} is created, so CLIs need no changes.
+* <p>
+* Session input is handed out at most one line per read, as a terminal does. The CLIs create
+* several {@code Scanner}s over the same input, and each one buffers whatever a read returns, so a
+* client that sends many lines at once would otherwise have its later answers swallowed by the first.
+* Before a session thread blocks for input, its pending output is flushed, so prompts that do
+* not end in a newline reach the client.
+*
+* @author Javier
+* @version 1.0
+*/
+public class SessionStreams {
+    private static final ThreadLocal<Session> current = new ThreadLocal<>();
+    private static InputStream consoleIn;
+    private static PrintStream consoleOut;
+
+    private static final class Session {
+        final InputStream in;
+        final PrintStream out;
+
+        Session(InputStream in, PrintStream out) {
+            this.in = in;
+            this.out = out;
+        }
+    }
+
+    /**
+    * Replaces {@code System.in} and {@code System.out} with routers. Calling it again has no effect.
+    */
+    public static synchronized void install() {
+        if (consoleIn != null) return;
+        consoleIn = System.in;
+        consoleOut = System.out;
+        System.setIn(new RoutedInput());
+        System.setOut(new RoutedOutput(consoleOut));
+    }
+
+    /**
+    * Binds the calling thread to a session's streams until {@link #unbind()}.
+    *
+    * @param in The stream the session reads input from.
+    * @param out The stream the session writes output to.
+    */
+    public static void bind(InputStream in, PrintStream out) {
+        current.set(new Session(in, out));
+    }
+
+    /**
+    * Returns the calling thread to the console streams.
+    */
+    public static void unbind() {
+        current.remove();
+    }
+
+    /**
+    * Returns the real console output, for messages meant for whoever runs the server.
+    *
+    * @return The console output stream.
+    */
+    public static PrintStream console() {
+        return consoleOut != null ? consoleOut : System.out;
+    }
+
+    private static InputStream in() {
+        Session session = current.get();
+        if (session == null) return consoleIn;
+        session.out.flush(); // show the prompt before waiting for the answer
+        return session.in;
+    }
+
+    private static PrintStream out() {
+        Session session = current.get();
+        return session == null ? consoleOut : session.out;
+    }
+
+    /**
+    * {@code System.in} replacement that reads from the calling thread's session.
+    */
+    private static final class RoutedInput extends InputStream {
+        @Override
+        public int read() throws IOException {
+            return in().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (current.get() == null) return consoleIn.read(b, off, len);
+            if (len == 0) return 0;
+
+            InputStream in = in();
+            int n = 0;
+            while (n < len) {
+                int c = in.read();
+                if (c < 0) break;
+                b[off + n++] = (byte) c;
+                if (c == '\n') break; // stop at the end of the line
+            }
+            return n == 0 ? -1 : n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            Session session = current.get();
+            return session == null ? consoleIn.available() : 0; // readers would otherwise keep reading past the line
+        }
+
+        @Override
+        public void close() throws IOException {
+            Session session = current.get();
+            if (session != null) session.in.close(); // never close the console
+        }
+    }
+
+    /**
+    * {@code System.out} replacement that writes to the calling thread's session.
+    * Every public method is forwarded, so sessions never share a lock or a buffer.
+    */
+    private static final class RoutedOutput extends PrintStream {
+        RoutedOutput(PrintStream console) {
+            super(console, true);
+        }
+
+        @Override public void write(int b) { out().write(b); }
+        @Override public void write(byte[] buf, int off, int len) { out().write(buf, off, len); }
+        @Override public void write(byte[] buf) throws IOException { out().write(buf); }
+        @Override public void flush() { out().flush(); }
+        @Override public boolean checkError() { return out().checkError(); }
+
+        @Override
+        public void close() {
+            Session session = current.get();
+            if (session != null) session.out.close(); // never close the console
+        }
+
+        @Override public void print(boolean b) { out().print(b); }
+        @Override public void print(char c) { out().print(c); }
+        @Override public void print(int i) { out().print(i); }
+        @Override public void print(long l) { out().print(l); }
+        @Override public void print(float f) { out().print(f); }
+        @Override public void print(double d) { out().print(d); }
+        @Override public void print(char[] s) { out().print(s); }
+        @Override public void print(String s) { out().print(s); }
+        @Override public void print(Object obj) { out().print(obj); }
+
+        @Override public void println() { out().println(); }
+        @Override public void println(boolean x) { out().println(x); }
+        @Override public void println(char x) { out().println(x); }
+        @Override public void println(int x) { out().println(x); }
+        @Override public void println(long x) { out().println(x); }
+        @Override public void println(float x) { out().println(x); }
+        @Override public void println(double x) { out().println(x); }
+        @Override public void println(char[] x) { out().println(x); }
+        @Override public void println(String x) { out().println(x); }
+        @Override public void println(Object x) { out().println(x); }
+
+        @Override public PrintStream printf(String format, Object... args) { out().printf(format, args); return this; }
+        @Override public PrintStream printf(Locale l, String format, Object... args) { out().printf(l, format, args); return this; }
+        @Override public PrintStream format(String format, Object... args) { out().format(format, args); return this; }
+        @Override public PrintStream format(Locale l, String format, Object... args) { out().format(l, format, args); return this; }
+
+        @Override public PrintStream append(CharSequence csq) { out().append(csq); return this; }
+        @Override public PrintStream append(CharSequence csq, int start, int end) { out().append(csq, start, end); return this; }
+        @Override public PrintStream append(char c) { out().append(c); return this; }
+    }
+}
@@ -3,6 +3,7 @@ package util;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import model.Applicant;
@@ -21,6 +22,7 @@ import model.Project;
 */
 public class TableUtil {
     private static final Pattern ANSI_PATTERN = Pattern.compile("\u001B\\[[;\\d]*m");
+    private static final int PAGE_SIZE = 5;
 
     /**
     * Removes ANSI escape codes from a string to compute correct length for formatting.
@@ -40,58 +42,72 @@ public class TableUtil {
     * @param rows The row data, where each row is a list of strings.
     */
     public static void printTable(List<String> headers, List<List<String>> rows) {
-        final int pageSize = 5;
-        int totalPages = (int) Math.ceil((double) rows.size() / pageSize);
+        int totalPages = (int) Math.ceil((double) rows.size() / PAGE_SIZE);
         int currentPage = 0;
         Scanner scanner = new Scanner(System.in);
 
-        int[] colWidths = new int[headers.size()];
-        for (int i = 0; i < headers.size(); i++) {
-            colWidths[i] = stripAnsi(headers.get(i)).length();
-        }
-
-        for (List<String> row : rows) {
-            for (int i = 0; i < row.size(); i++) {
-                colWidths[i] = Math.max(colWidths[i], stripAnsi(row.get(i)).length());
-            }
-        }
-
-        StringBuilder formatBuilder = new StringBuilder();
-        for (int width : colWidths) {
-            formatBuilder.append("| %-").append(width).append("s ");
-        }
-        formatBuilder.append("|\n");
-        String format = formatBuilder.toString();
+        int[] colWidths = columnWidths(headers, rows);
 
         while (true) {
-            int start = currentPage * pageSize;
-            int end = Math.min(start + pageSize, rows.size());
+            int start = currentPage * PAGE_SIZE;
+            int end = Math.min(start + PAGE_SIZE, rows.size());
             List<List<String>> pageRows = rows.subList(start, end);
 
             System.out.printf("\nPage %d of %d\n", currentPage + 1, totalPages);
-            System.out.printf(format, headers.toArray()); // header
+            printPage(headers, pageRows, colWidths);
+
+            if (totalPages == 1) break;
+
+            System.out.print("\n[N]ext, [P]rev, [Q]uit: ");
+            String input = scanner.nextLine().trim().toLowerCase();
 
-            for (int width : colWidths) {
-                System.out.print("|" + "-".repeat(width + 2));
+            if (input.equalsIgnoreCase("n") && currentPage < totalPages - 1) {
+                currentPage++;
+            } else if (input.equalsIgnoreCase("p") && currentPage > 0) {
+                currentPage--;
+            } else if (input.equalsIgnoreCase("q")) {
+                break;
+            } else {
+                System.out.println("Invalid option.");
             }
-            System.out.println("|");
-
-            for (List<String> row : pageRows) {
-                Object[] formattedRow = new Object[row.size()];
-                for (int i = 0; i < row.size(); i++) {
-                    String cell = row.get(i);
-                    int pad = colWidths[i] - stripAnsi(cell).length();
-                    formattedRow[i] = cell + " ".repeat(Math.max(0, pad));
-                }
-                System.out.printf(format, formattedRow);
+        }
+    }
+
+    /**
+    * Displays a paginated table whose rows are read from a query cursor one page at a time.
+    * Only the rows on the current page are fetched and formatted, and column widths are fitted
+    * to that page, so the first page appears just as quickly however many rows match.
+    *
+    * @param headers The list of column headers.
+    * @param cursor The query results to display.
+    * @param toRow Converts a result into its row of cells.
+    */
+    public static <T> void printTable(List<String> headers, QueryCursor<T> cursor, Function<T, List<String>> toRow) {
+        int currentPage = 0;
+        Scanner scanner = new Scanner(System.in);
+
+        while (true) {
+            int start = currentPage * PAGE_SIZE;
+            List<List<String>> pageRows = new ArrayList<>();
+            for (T item : cursor.fetch(start, PAGE_SIZE)) {
+                pageRows.add(toRow.apply(item));
             }
+            boolean hasNext = cursor.hasResultAt(start + PAGE_SIZE);
 
-            if (totalPages == 1) break;
+            int total = cursor.getTotal();
+            if (total >= 0) {
+                System.out.printf("\nPage %d of %d\n", currentPage + 1, Math.max(1, (int) Math.ceil((double) total / PAGE_SIZE)));
+            } else {
+                System.out.printf("\nPage %d\n", currentPage + 1);
+            }
+            printPage(headers, pageRows, columnWidths(headers, pageRows));
+
+            if (currentPage == 0 && !hasNext) break;
 
             System.out.print("\n[N]ext, [P]rev, [Q]uit: ");
             String input = scanner.nextLine().trim().toLowerCase();
 
-            if (input.equalsIgnoreCase("n") && currentPage < totalPages - 1) {
+            if (input.equalsIgnoreCase("n") && hasNext) {
                 currentPage++;
             } else if (input.equalsIgnoreCase("p") && currentPage > 0) {
                 currentPage--;
@@ -103,6 +119,60 @@ public class TableUtil {
         }
     }
 
+    /**
+    * Computes the display width of each column, ignoring ANSI codes.
+    *
+    * @param headers The list of column headers.
+    * @param rows The rows to fit.
+    * @return The width of each column.
+    */
+    private static int[] columnWidths(List<String> headers, List<List<String>> rows) {
+        int[] colWidths = new int[headers.size()];
+        for (int i = 0; i < headers.size(); i++) {
+            colWidths[i] = stripAnsi(headers.get(i)).length();
+        }
+
+        for (List<String> row : rows) {
+            for (int i = 0; i < row.size(); i++) {
+                colWidths[i] = Math.max(colWidths[i], stripAnsi(row.get(i)).length());
+            }
+        }
+        return colWidths;
+    }
+
+    /**
+    * Prints the header, separator and rows of a single page.
+    *
+    * @param headers The list of column headers.
+    * @param pageRows The rows on this page.
+    * @param colWidths The width of each column.
+    */
+    private static void printPage(List<String> headers, List<List<String>> pageRows, int[] colWidths) {
+        StringBuilder formatBuilder = new StringBuilder();
+        for (int width : colWidths) {
+            formatBuilder.append("| %-").append(width).append("s ");
+        }
+        formatBuilder.append("|\n");
+        String format = formatBuilder.toString();
+
+        System.out.printf(format, headers.toArray()); // header
+
+        for (int width : colWidths) {
+            System.out.print("|" + "-".repeat(width + 2));
+        }
+        System.out.println("|");
+
+        for (List<String> row : pageRows) {
+            Object[] formattedRow = new Object[row.size()];
+            for (int i = 0; i < row.size(); i++) {
+                String cell = row.get(i);
+                int pad = colWidths[i] - stripAnsi(cell).length();
+                formattedRow[i] = cell + " ".repeat(Math.max(0, pad));
+            }
+            System.out.printf(format, formattedRow);
+        }
+    }
+
     /**
     * Displays a filtered table of available projects for an applicant.
     * Filters by flat type, price range, and applicant eligibility.
@@ -0,0 +1,224 @@
+package util;
+
+import model.Project;
+import model.ProjectRegistry;
+import model.ProjectWindowIndex;
+import model.Registries;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+* Opens and closes project application windows as time passes.
+* <p>
+* Every project contributes an open event (the start of its open date) and a close event
+* (the end of its close date) to a priority queue ordered by time. {@link #tick()} processes
+* every due event: opening adds the project to the set of open projects, and closing removes it
+* and hides the project from applicants. Events made stale by a date change are discarded when
+* they come up, since the change schedules fresh ones.
+* <p>
+* Due events are run on the session thread: the role menus call {@link #tick()} before they are
+* shown, and {@link #getOpenProjects()} calls it before answering. Only in concurrent mode (see
+* {@link Registries}), where the registries are safe to change from another thread, does a
+* background timer also sleep until the earliest event is due and process it.
+* <p>
+* The clock is injectable, so tests can move time forward and call {@link #tick()} directly.
+*
+* @author Javier
+* @version 1.0
+*/
+public class VisibilityScheduler {
+    private static final long MAX_SLEEP_MS = TimeUnit.HOURS.toMillis(1); // re-check the clock at least hourly
+
+    private enum Kind { OPEN, CLOSE }
+
+    private static final class Event {
+        final Instant at;
+        final Project project;
+        final Kind kind;
+        final LocalDate date; // the project date this event was scheduled for
+        final long sequence;  // keeps events due at the same time in scheduling order
+
+        Event(Instant at, Project project, Kind kind, LocalDate date, long sequence) {
+            this.at = at;
+            this.project = project;
+            this.kind = kind;
+            this.date = date;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final PriorityQueue<Event> events = new PriorityQueue<>(
+        Comparator.comparing((Event e) -> e.at)
+            .thenComparing(e -> e.kind) // a window opens before it closes
+            .thenComparingLong(e -> e.sequence));
+    private static long nextSequence = 0;
+    private static final Set<Project> openProjects = new LinkedHashSet<>();
+    private static Clock clock = Clock.systemDefaultZone();
+    private static ScheduledExecutorService executor;
+    private static ScheduledFuture<?> wakeUp;
+    private static boolean started = false;
+
+    /**
+    * Starts the scheduler on the system clock.
+    */
+    public static void start() {
+        start(Clock.systemDefaultZone());
+    }
+
+    /**
+    * Starts the scheduler, queueing the window events of every registered project.
+    * Events already in the past are processed immediately, so projects that have closed are hidden.
+    *
+    * @param schedulerClock The clock that decides when windows open and close.
+    */
+    public static synchronized void start(Clock schedulerClock) {
+        clock = schedulerClock;
+        events.clear();
+        openProjects.clear();
+        started = true;
+
+        for (Project project : ProjectRegistry.getAllProjects()) {
+            enqueue(project);
+        }
+        tick();
+    }
+
+    /**
+    * Stops the background timer and discards all queued events.
+    */
+    public static void stop() {
+        ScheduledExecutorService toStop;
+        synchronized (VisibilityScheduler.class) {
+            started = false;
+            clock = Clock.systemDefaultZone();
+            events.clear();
+            openProjects.clear();
+            if (wakeUp != null) wakeUp.cancel(false);
+            wakeUp = null;
+            toStop = executor;
+            executor = null;
+        }
+        if (toStop != null) toStop.shutdownNow();
+    }
+
+    /**
+    * Queues the window events for a project that was created or whose dates changed.
+    * Does nothing if the scheduler has not been started.
+    *
+    * @param project The project to schedule.
+    */
+    public static synchronized void schedule(Project project) {
+        if (!started) return;
+        openProjects.remove(project); // re-added by its open event if the new window has already begun
+        enqueue(project);
+        tick();
+    }
+
+    /**
+    * Processes every event that is due according to the clock, then sets the timer
+    * for the next one.
+    *
+    * @return The number of events that changed a project or the open set.
+    */
+    public static synchronized int tick() {
+        if (!started) return 0;
+
+        Instant now = clock.instant();
+        int applied = 0;
+        while (!events.isEmpty() && !events.peek().at.isAfter(now)) {
+            if (apply(events.poll())) applied++;
+        }
+        arm(now);
+        return applied;
+    }
+
+    /**
+    * Retrieves the projects whose application window is open right now, running any due events first.
+    * If the scheduler has not been started, the open windows are read from {@link ProjectWindowIndex}.
+    *
+    * @return The open projects, in the order their windows opened (registration order on the same day).
+    */
+    public static synchronized List<Project> getOpenProjects() {
+        if (!started) return ProjectWindowIndex.getOpenOn(LocalDate.now(clock));
+        tick();
+
+        List<Project> result = new ArrayList<>();
+        for (Project project : openProjects) {
+            if (isRegistered(project)) result.add(project);
+        }
+        return result;
+    }
+
+    /**
+    * Returns the number of queued events.
+    *
+    * @return The number of events not yet processed.
+    */
+    public static synchronized int pendingCount() {
+        return events.size();
+    }
+
+    private static void enqueue(Project project) {
+        LocalDate openDate = project.getOpenDate();
+        LocalDate closeDate = project.getCloseDate();
+        if (openDate == null || closeDate == null) return;
+
+        events.add(new Event(openDate.atStartOfDay(clock.getZone()).toInstant(), project, Kind.OPEN, openDate, nextSequence++));
+        events.add(new Event(closeDate.plusDays(1).atStartOfDay(clock.getZone()).toInstant(), project, Kind.CLOSE, closeDate, nextSequence++));
+    }
+
+    private static boolean apply(Event event) {
+        Project project = event.project;
+        if (!isRegistered(project)) return false;
+
+        if (event.kind == Kind.OPEN) {
+            if (!event.date.equals(project.getOpenDate())) return false; // window moved since
+            if (!clock.instant().isBefore(closeBoundary(project))) return false; // already over
+            return openProjects.add(project);
+        }
+
+        if (!event.date.equals(project.getCloseDate())) return false; // window moved since
+        boolean changed = openProjects.remove(project);
+        if (project.isVisible()) {
+            project.setVisibility(false); // auto hide projects that have closed
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static Instant closeBoundary(Project project) {
+        return project.getCloseDate().plusDays(1).atStartOfDay(clock.getZone()).toInstant();
+    }
+
+    private static boolean isRegistered(Project project) {
+        return ProjectRegistry.getProjectByName(project.getName()) == project;
+    }
+
+    /**
+    * Sets the background timer to fire when the next event is due, in concurrent mode only.
+    */
+    private static void arm(Instant now) {
+        if (wakeUp != null) wakeUp.cancel(false);
+        wakeUp = null;
+        if (events.isEmpty() || !Registries.isConcurrent()) return; // session threads tick instead
+
+        long delay = Math.max(0, Duration.between(now, events.peek().at).toMillis());
+        wakeUp = executor().schedule(VisibilityScheduler::tick, Math.min(delay, MAX_SLEEP_MS), TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "visibility-scheduler");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return executor;
+    }
+}
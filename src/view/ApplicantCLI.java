@@ -10,6 +10,7 @@ import model.EnquiryRegistry;
 import model.ProjectRegistry;
 import util.Breadcrumb;
 import util.InputUtil;
+import util.VisibilityScheduler;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -83,6 +84,7 @@ public class ApplicantCLI {
     * and open/upcoming project counts.
     */
     private void showMenu() {
+        VisibilityScheduler.tick(); // open and close windows that fell due while the session was idle
         System.out.println("\n=== " + breadcrumb.getPath() + " ===");
         System.out.println("1. Manage HDB Applications");
         System.out.println("2. Manage Enquiries");
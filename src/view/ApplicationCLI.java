@@ -94,7 +94,7 @@ public class ApplicationCLI {
     * @param applicant The logged-in applicant.
     */
     private void viewAllAvailableProject(Applicant applicant){
-        List<Project> visibleProjects = applicationController.getAllAvailableProjects(applicant);
+        List<Project> visibleProjects = applicationController.getFilteredAvailableProjects(applicant, null);
 
         if (visibleProjects.isEmpty()) {
             System.out.println("No available projects at the moment.");
@@ -115,14 +115,14 @@ public class ApplicationCLI {
         
         if (!filter.isEmpty()) {
             clearFilters();
-            filteredProjects = FilterUtil.applyFilter(visibleProjects, filter);
+            filteredProjects = applicationController.getFilteredAvailableProjects(applicant, filter);
         } else {
             System.out.print("Would you like to filter the projects? (Y/N): ");
             String response = scanner.nextLine().trim().toLowerCase();
     
             if (response.equals("y")) {
                 setProjectFilter(); // prompts user and updates the 'filter' object
-                filteredProjects = FilterUtil.applyFilter(visibleProjects, filter);
+                filteredProjects = applicationController.getFilteredAvailableProjects(applicant, filter);
             }
         }
 
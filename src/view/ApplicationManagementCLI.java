@@ -4,6 +4,7 @@ import model.*;
 import util.Breadcrumb;
 import util.Filter;
 import util.InputUtil;
+import util.QueryCursor;
 import util.TableUtil;
 import controller.ApplicationController;
 import controller.OfficerController;
@@ -341,9 +342,9 @@ public class ApplicationManagementCLI {
             }
         }
 
-        List<Application> result = applicationController.getFilteredApplications(filter);
+        QueryCursor<Application> result = applicationController.getFilteredApplicationCursor(filter);
 
-        if (result.isEmpty()) {
+        if (!result.hasResultAt(0)) {
             if (filter.isEmpty()) {
                 System.out.println("No applications found.");
                 return;
@@ -353,7 +354,7 @@ public class ApplicationManagementCLI {
             String retry = scanner.nextLine().trim().toLowerCase();
             if (retry.equals("y")) {
                 filter.clear();
-                result = applicationController.getFilteredApplications(filter);
+                result = applicationController.getFilteredApplicationCursor(filter);
             } else {
                 return;
             }
@@ -430,20 +431,19 @@ public class ApplicationManagementCLI {
     }
 
     /**
-    * Prints a formatted table displaying details of all applications in the given list.
+    * Prints a formatted table displaying details of the applications in the given cursor.
     * Includes applicant information, flat type, project name, and application status.
+    * Rows arrive sorted by applicant name and are fetched one page at a time.
     *
-    * @param result the list of applications to display in the report
+    * @param result the cursor over the applications to display in the report
     */
-    private void printReport(List<Application> result) {
+    private void printReport(QueryCursor<Application> result) {
        System.out.println("\n=== Filtered Application Report ===");
 
         List<String> headers = List.of("Name", "NRIC", "Age", "Marital Status", "Flat Type", "Project", "Status");
-        List<List<String>> rows = new ArrayList<>();
-
-        for (Application app : result) {
+        TableUtil.printTable(headers, result, app -> {
             Applicant a = app.getApplicant();
-            rows.add(List.of(
+            return List.of(
                 a.getName(),
                 a.getNric(),
                 String.valueOf(a.getAge()),
@@ -451,10 +451,8 @@ public class ApplicationManagementCLI {
                 app.getFlatType(),
                 app.getProject().getName(),
                 app.getStatus().toString()
-            ));
-        }
-        rows.sort(Comparator.comparing(row -> row.get(0)));
-        TableUtil.printTable(headers, rows);
+            );
+        });
     }
 
     /**
@@ -2,6 +2,7 @@ package view;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Scanner;
 
@@ -256,6 +257,7 @@ public class EnquiryCLI {
     
             List<Enquiry> enquiries = enquiryController.getProjectEnquiries(assignedProject);
             TableUtil.printEnquiryTable(enquiries);
+            printAwaitingReply(enquiryController.getUnansweredProjectEnquiries(assignedProject));
             replyToEnquiry();
             return;
         }
@@ -269,16 +271,34 @@ public class EnquiryCLI {
             }
 
             List<Enquiry> allEnquiries = new ArrayList<>();
+            List<Enquiry> unanswered = new ArrayList<>();
             for (String project : managedProjects) {
                 allEnquiries.addAll(enquiryController.getProjectEnquiries(project));
+                unanswered.addAll(enquiryController.getUnansweredProjectEnquiries(project));
             }
 
             TableUtil.printEnquiryTable(allEnquiries);
+            unanswered.sort(Comparator.comparingInt(Enquiry::getEnquiryId)); // IDs increase with age
+            printAwaitingReply(unanswered);
             replyToEnquiry();
             return;
         }
     }
 
+    /**
+    * Lists the IDs of enquiries still awaiting a reply, oldest first.
+    *
+    * @param unanswered The unanswered enquiries.
+    */
+    private void printAwaitingReply(List<Enquiry> unanswered) {
+        if (unanswered.isEmpty()) {
+            System.out.println("All enquiries have been replied to.");
+            return;
+        }
+        System.out.println("Awaiting reply (oldest first): " +
+            String.join(", ", unanswered.stream().map(e -> String.valueOf(e.getEnquiryId())).toList()));
+    }
+
     /**
     * Prompts the staff user to reply to a selected enquiry.
     */
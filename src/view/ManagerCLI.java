@@ -6,6 +6,7 @@ import controller.ManagerController;
 import model.*;
 import util.Breadcrumb;
 import util.InputUtil;
+import util.VisibilityScheduler;
 
 import java.util.List;
 import java.util.Scanner;
@@ -93,6 +94,7 @@ public class ManagerCLI {
     * Displays the manager's main menu options.
     */
     private void showMenu() {
+        VisibilityScheduler.tick(); // open and close windows that fell due while the session was idle
         System.out.println("\n=== " + breadcrumb.getPath() + " ===");
         System.out.println("1. HDB Project Management Hub");
         System.out.println("2. Application Management Hub");
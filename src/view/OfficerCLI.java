@@ -8,6 +8,7 @@ import model.*;
 import model.HDBOfficer.RegistrationStatus;
 import util.Breadcrumb;
 import util.InputUtil;
+import util.VisibilityScheduler;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -107,6 +108,7 @@ public class OfficerCLI {
     * enquiry handling, password change, and logout.
     */
     private void showMenu() {
+        VisibilityScheduler.tick(); // open and close windows that fell due while the session was idle
         System.out.println("\n=== " + breadcrumb.getPath() + " ===");
         System.out.println("1. Manage HDB Applications");
         System.out.println("2. Register for a Project");
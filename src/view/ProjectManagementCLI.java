@@ -3,6 +3,7 @@ package view;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import controller.ManagerController;
@@ -13,6 +14,7 @@ import model.ProjectRegistry;
 import util.Breadcrumb;
 import util.Filter;
 import util.InputUtil;
+import util.VisibilityScheduler;
 
 /**
 * CLI interface for HDB Managers to create, view, and manage BTO projects.
@@ -33,7 +35,7 @@ import util.InputUtil;
 */
 public class ProjectManagementCLI {
     private final Filter filter;
-    private static final Map<String, Filter> managerFilters = new HashMap<>();
+    private static final Map<String, Filter> managerFilters = new ConcurrentHashMap<>(); // shared by every session
     private final HDBManager manager;
     private final ManagerController managerController;
     private final Scanner scanner;
@@ -84,6 +86,7 @@ public class ProjectManagementCLI {
     * Displays the main project management menu.
     */
     private void showMenu() {
+        VisibilityScheduler.tick(); // open and close windows that fell due while the session was idle
         System.out.println("\n=== " + breadcrumb.getPath() + " ===");
         System.out.println("1. View All BTO Projects");
         System.out.println("2. View My Projects");
@@ -2,12 +2,32 @@
 package controller;
 
 import model.*;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.*;
+import util.ExcelReader;
+import util.ExcelStreamReader;
+import util.ExcelWriter;
+import util.Filter;
+import util.FilterUtil;
+import util.Journal;
+import util.QueryCursor;
+import util.ResultCache;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -136,6 +156,55 @@ class ApplicationControllerTest {
         assertTrue(rejected, "Manager should reject withdrawal");
         assertTrue(outContent.toString().contains("Withdrawal request rejected."));
     }
+    // --- New: Flat inventory under concurrent sessions never oversells or leaks units ---
+    @Test
+    void flatInventory_concurrentReserveConfirmRelease_staysConsistent() throws Exception {
+        final int units = 50, threads = 8, rounds = 20_000;
+        FlatType ft = new FlatType("3-Room", units, 80_000);
+
+        AtomicInteger booked = new AtomicInteger();    // net units booked (confirmed minus cancelled)
+        AtomicInteger reserved = new AtomicInteger();  // net units still reserved
+        AtomicBoolean broken = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int held = 0, mine = 0; // this worker's reservations and bookings
+                start.await();
+                for (int i = 0; i < rounds; i++) {
+                    switch (random.nextInt(4)) {
+                        case 0 -> { if (ft.reserve()) { held++; reserved.incrementAndGet(); } }
+                        case 1 -> { if (held > 0) {
+                            if (!ft.confirm()) broken.set(true); // a held reservation must always be bookable
+                            held--; mine++; reserved.decrementAndGet(); booked.incrementAndGet();
+                        } }
+                        case 2 -> { if (held > 0) {
+                            if (!ft.release()) broken.set(true);
+                            held--; reserved.decrementAndGet();
+                        } }
+                        default -> { if (mine > 0) {
+                            if (!ft.cancelBooking()) broken.set(true);
+                            mine--; booked.decrementAndGet();
+                        } }
+                    }
+                    if (ft.getRemainingUnits() < 0 || ft.getReservedUnits() < 0 || ft.getAvailableUnits() < 0) broken.set(true);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) worker.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertFalse(broken.get(), "Units went negative or a held reservation could not be used");
+        assertEquals(units - booked.get(), ft.getRemainingUnits(), "Booked units leaked");
+        assertEquals(reserved.get(), ft.getReservedUnits(), "Reservations leaked");
+        assertTrue(ft.getReservedUnits() <= ft.getRemainingUnits());
+    }
+
     // --- New: Submit to non-existent project ---
     @Test
     void submitApplication_nonexistentProject_fails() {
@@ -179,4 +248,400 @@ class ApplicationControllerTest {
         assertFalse(appController.submitApplication(youngSingle, "ProjA", "2-Room"));
         assertTrue(outContent.toString().contains("You are not eligible to apply for this flat type."));
     }
+
+    // --- New: Concurrent approvals never approve more applicants than there are units ---
+    @Test
+    void approveRejectApplication_concurrentApprovals_neverExceedUnits() throws Exception {
+        Registries.setConcurrentMode(true);
+        try {
+            HDBManager mgr = new HDBManager("Mgr","S200009Z","pw",40,"Married");
+            mgr.addManagedProject("ProjB"); // 3 units of 3-Room
+            List<Applicant> applicants = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Applicant a = new Applicant("A" + i, String.format("S9%06dZ", i), "pw", 30, "Married");
+                applicants.add(a);
+                ApplicationRegistry.addApplication(a.getNric(), new Application(a, projB, "3-Room"));
+            }
+
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            List<Future<?>> workers = new ArrayList<>();
+            for (Applicant a : applicants) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    appController.approveRejectApplication(a.getNric(), "ProjB", mgr, Application.Status.SUCCESSFUL);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) worker.get(30, TimeUnit.SECONDS);
+            pool.shutdown();
+
+            long successful = applicants.stream()
+                .filter(a -> ApplicationRegistry.getApplicationByNricAndProject(a.getNric(), "ProjB").getStatus() == Application.Status.SUCCESSFUL)
+                .count();
+            assertEquals(3, successful);
+            assertEquals(3, projB.getFlatType("3-Room").getReservedUnits());
+            assertEquals(3, projB.getFlatType("3-Room").getRemainingUnits());
+        } finally {
+            Registries.setConcurrentMode(false);
+        }
+    }
+
+    // --- New: Concurrent submissions by one applicant register a single application ---
+    @Test
+    void submitApplication_concurrentSubmissions_registerOnlyOne() throws Exception {
+        Registries.setConcurrentMode(true);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            List<Future<Boolean>> workers = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    return appController.submitApplication(married30, "ProjB", "3-Room");
+                }));
+            }
+            start.countDown();
+            int accepted = 0;
+            for (Future<Boolean> worker : workers) {
+                if (worker.get(30, TimeUnit.SECONDS)) accepted++;
+            }
+            pool.shutdown();
+
+            assertEquals(1, accepted);
+            assertEquals(1, ApplicationRegistry.getApplicationByNRIC("S100002B").size());
+            assertEquals(1, ApplicationRegistry.getApplicationsByProject("ProjB").size());
+        } finally {
+            Registries.setConcurrentMode(false);
+        }
+    }
+
+    // --- New: Project names are looked up ignoring case and surrounding spaces ---
+    @Test
+    void projectRegistry_normalizedKey_ignoresCaseAndWhitespace() {
+        assertSame(projA, ProjectRegistry.getProjectByName("  proja "));
+        assertSame(projB, ProjectRegistry.getProjectByName("PROJB"));
+        assertTrue(ProjectRegistry.exists(" ProjA"));
+        assertEquals("ProjA", ProjectRegistry.getNormalizedProjectName("PROJA  "));
+        assertNull(ProjectRegistry.getProjectByName("Proj A"));
+
+        Project duplicate = new Project(" PROJA ", "Tampines",
+                LocalDate.now().minusDays(1), LocalDate.now().plusDays(1), true, 5, "Mgr");
+        assertFalse(ProjectRegistry.addProjectIfAbsent(duplicate));
+        assertSame(projA, ProjectRegistry.getProjectByName("ProjA"));
+
+        ProjectRegistry.removeProject(" projA ");
+        assertFalse(ProjectRegistry.exists("ProjA"));
+        assertEquals(List.of(projB), new ArrayList<>(ProjectRegistry.getAllProjects()));
+    }
+
+    // --- New: Project and status lookups follow status changes ---
+    @Test
+    void applicationsByProjectAndStatus_followStatusChanges() {
+        Applicant other = new Applicant("Other","S100003C","pw",32,"Married");
+        assertTrue(appController.submitApplication(married30, "ProjB", "3-Room"));
+        assertTrue(appController.submitApplication(other, "ProjB", "3-Room"));
+        Application first = ApplicationRegistry.getApplicationByNricAndProject("S100002B", "ProjB");
+        Application second = ApplicationRegistry.getApplicationByNricAndProject("S100003C", "ProjB");
+        assertEquals(List.of(first, second), ApplicationRegistry.getApplicationsByProjectAndStatus("ProjB", Application.Status.PENDING));
+
+        HDBManager mgr = new HDBManager("Mgr","S200009Z","pw",40,"Married");
+        mgr.addManagedProject("ProjB");
+        appController.approveRejectApplication("S100002B", "ProjB", mgr, Application.Status.SUCCESSFUL);
+        assertEquals(List.of(second), ApplicationRegistry.getApplicationsByProjectAndStatus("ProjB", Application.Status.PENDING));
+        assertEquals(List.of(first), ApplicationRegistry.getSuccessfulApplicationsByProject(" projb "));
+
+        first.setStatus(Application.Status.BOOKED);
+        assertTrue(ApplicationRegistry.getSuccessfulApplicationsByProject("ProjB").isEmpty());
+        assertEquals(List.of(first), ApplicationRegistry.getFlatBookedByProject("PROJB"));
+        assertEquals(2, ApplicationRegistry.getApplicationsByProject("ProjB").size());
+
+        // Applications outside the registry do not reach the index
+        Application unregistered = new Application(single35, projB, "3-Room");
+        unregistered.setStatus(Application.Status.SUCCESSFUL);
+        assertTrue(ApplicationRegistry.getSuccessfulApplicationsByProject("ProjB").isEmpty());
+    }
+
+    // --- New: Applications are found by NRIC and project in any case ---
+    @Test
+    void applicationByNricAndProject_usesCanonicalKeys() {
+        Application app = new Application(married30, projA, "2-Room");
+        ApplicationRegistry.loadApplications(List.of(app, new Application(single35, projA, "2-Room")));
+
+        assertSame(app, ApplicationRegistry.getApplicationByNricAndProject("S100002B", "ProjA"));
+        assertSame(app, ApplicationRegistry.getApplicationByNricAndProject(" s100002b", "proja "));
+        assertTrue(ApplicationRegistry.hasUserAppliedForProject("s100002B", "PROJA"));
+        assertFalse(ApplicationRegistry.hasUserAppliedForProject("S100002B", "ProjB"));
+        assertNull(ApplicationRegistry.getApplicationByNricAndProject("S100002B", "ProjB"));
+        assertNull(ApplicationRegistry.getApplicationByNricAndProject("S100009Z", "ProjA"));
+
+        assertFalse(appController.submitApplication(married30, "projb", "3-Room")); // still active on ProjA
+        Application other = new Application(married30, projB, "3-Room");
+        ApplicationRegistry.addApplication("s100002b", other);
+        assertSame(other, ApplicationRegistry.getApplicationByNricAndProject("S100002B", "ProjB"));
+        assertSame(app, ApplicationRegistry.getApplicationByNricAndProject("S100002B", "ProjA"));
+    }
+
+    // --- New: Bitmap filter results match a full scan after additions and status changes ---
+    @Test
+    void filteredApplicationCursor_matchesBruteForceFilter() {
+        Random random = new Random(7);
+        String[] maritalStatuses = {"Single", "Married"};
+        Project[] projects = {projA, projB};
+        String[] flatTypes = {"2-Room", "3-Room"};
+        Application.Status[] statuses = Application.Status.values();
+
+        List<Application> all = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Applicant a = new Applicant(String.format("Applicant%03d", random.nextInt(1000)) + "-" + i,
+                    String.format("S7%06dA", i), "pw", 21 + random.nextInt(50), maritalStatuses[random.nextInt(2)]);
+            all.add(new Application(a, projects[random.nextInt(2)], flatTypes[random.nextInt(2)]));
+        }
+        ApplicationRegistry.loadApplications(all.subList(0, 200));
+        for (Application app : all.subList(200, 300)) {
+            ApplicationRegistry.addApplication(app.getApplicant().getNric(), app); // indexed one at a time
+        }
+        for (int i = 0; i < 400; i++) {
+            all.get(random.nextInt(all.size())).setStatus(statuses[random.nextInt(statuses.length)]);
+        }
+
+        List<Filter> filters = new ArrayList<>();
+        filters.add(new Filter());
+        for (int i = 0; i < 60; i++) {
+            Filter f = new Filter();
+            if (random.nextBoolean()) f.setStatus(EnumSet.of(statuses[random.nextInt(statuses.length)], statuses[random.nextInt(statuses.length)]));
+            if (random.nextBoolean()) f.setProjectName(Set.of(random.nextBoolean() ? "proja" : "ProjB"));
+            if (random.nextBoolean()) f.setFlatType(flatTypes[random.nextInt(2)].toUpperCase());
+            if (random.nextBoolean()) f.setMaritalStatus(maritalStatuses[random.nextInt(2)]);
+            if (random.nextBoolean()) f.setMinAge(21 + random.nextInt(50));
+            if (random.nextBoolean()) f.setMaxAge(21 + random.nextInt(50));
+            filters.add(f);
+        }
+
+        List<Application> byName = new ArrayList<>(all);
+        byName.sort(Comparator.comparing(app -> app.getApplicant().getName()));
+        for (Filter f : filters) {
+            List<Application> expected = byName.stream().filter(app -> app.matches(f)).toList();
+            QueryCursor<Application> cursor = appController.getFilteredApplicationCursor(f);
+            assertEquals(expected, cursor.fetch(0, all.size() + 1));
+            assertEquals(expected.size(), cursor.getTotal());
+        }
+    }
+
+    // --- New: Cached project lists follow project changes, and one computation serves concurrent readers ---
+    @Test
+    void filteredAvailableProjects_cachedUntilProjectsChange() throws Exception {
+        assertEquals(List.of(projA, projB), appController.getFilteredAvailableProjects(married30, null));
+        projB.setVisibility(false);
+        assertEquals(List.of(projA), appController.getFilteredAvailableProjects(married30, null));
+
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<List<String>>> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(pool.submit(() -> ResultCache.get("test|" + ProjectRegistry.getVersion(), null, () -> {
+                computations.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of("result");
+            })));
+        }
+        Thread.sleep(100); // let every reader reach the cache
+        // Other keys are answered while the slow query is still running
+        assertEquals(List.of(projA), appController.getFilteredAvailableProjects(married30, null));
+        release.countDown();
+        for (Future<List<String>> reader : readers) assertEquals(List.of("result"), reader.get(30, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertEquals(1, computations.get());
+    }
+
+    // --- New: Reapplying to the same project keeps both applications through save and reload ---
+    @Test
+    void reapplyToSameProject_survivesSaveAndReload() throws Exception {
+        Path dir = Files.createTempDirectory("bto-reapply");
+        Path workbook = dir.resolve("CombinedExcel.xlsx");
+        Files.copy(Path.of("src/data/CombinedExcel.xlsx"), workbook);
+        ExcelWriter.setFilePath(workbook.toString());
+        try {
+            ExcelReader.ExcelData data = ExcelStreamReader.loadAllData(workbook.toString());
+            ProjectRegistry.loadProjects(data.projects);
+            ApplicationRegistry.loadApplications(data.applications);
+            EnquiryRegistry.loadEnquiries(data.enquiries);
+
+            Applicant applicant = data.applicants.stream()
+                .filter(a -> ApplicationRegistry.getApplicationByNRIC(a.getNric()).isEmpty())
+                .findFirst().orElseThrow();
+            Project project = data.projects.get(0);
+            String flatType = project.getFlatTypes().keySet().iterator().next();
+
+            // Apply, get rejected, and apply to the same project again
+            Application first = new Application(applicant, project, flatType);
+            ApplicationRegistry.addApplication(applicant.getNric(), first);
+            assertTrue(ExcelWriter.saveData());
+            first.setStatus(Application.Status.UNSUCCESSFUL);
+            ApplicationRegistry.addApplication(applicant.getNric(), new Application(applicant, project, flatType));
+            assertTrue(ExcelWriter.saveData());
+
+            List<String> reloaded = ExcelStreamReader.loadAllData(workbook.toString()).applications.stream()
+                .filter(app -> app.getApplicant().getNric().equals(applicant.getNric()))
+                .map(app -> app.getProject().getName() + ":" + app.getStatus())
+                .toList();
+            assertEquals(List.of(project.getName() + ":UNSUCCESSFUL", project.getName() + ":PENDING"), reloaded);
+        } finally {
+            ExcelWriter.setFilePath("src/data/CombinedExcel.xlsx");
+        }
+    }
+
+    // --- New: The FlatBookings export streams every application, and saves reuse the workbook's styles ---
+    @Test
+    void exportApplications_streamsAllRows_andSavesAddNoStyles() throws Exception {
+        Path dir = Files.createTempDirectory("bto-export");
+        Path workbook = dir.resolve("CombinedExcel.xlsx");
+        Files.copy(Path.of("src/data/CombinedExcel.xlsx"), workbook);
+        ExcelWriter.setFilePath(workbook.toString());
+        try {
+            ExcelReader.ExcelData data = ExcelStreamReader.loadAllData(workbook.toString());
+            ProjectRegistry.loadProjects(data.projects);
+            ApplicationRegistry.loadApplications(data.applications);
+            EnquiryRegistry.loadEnquiries(data.enquiries);
+
+            // Rows are grouped by applicant; each applicant's applications keep their order
+            Comparator<Application> byApplicant = Comparator.comparing(app -> app.getApplicant().getNric());
+            ExcelWriter.exportApplications();
+            List<String> exported = ExcelStreamReader.loadAllData(workbook.toString()).applications.stream()
+                .sorted(byApplicant)
+                .map(app -> app.getApplicant().getNric() + ":" + app.getProject().getName() + ":" + app.getStatus())
+                .toList();
+            assertEquals(data.applications.stream()
+                .sorted(byApplicant)
+                .map(app -> app.getApplicant().getNric() + ":" + app.getProject().getName() + ":" + app.getStatus())
+                .toList(), exported);
+
+            int styles = cellStyleCount(workbook);
+            for (int i = 0; i < 3; i++) {
+                data.projects.get(0).setVisibility(i % 2 == 0);
+                Application app = data.applications.get(0);
+                app.setApplicationDate(app.getApplicationDate()); // marks the row changed
+                assertTrue(ExcelWriter.saveData());
+            }
+            assertEquals(styles, cellStyleCount(workbook));
+        } finally {
+            ExcelWriter.setFilePath("src/data/CombinedExcel.xlsx");
+        }
+    }
+
+    private static int cellStyleCount(Path workbook) throws Exception {
+        try (var in = Files.newInputStream(workbook); var book = new XSSFWorkbook(in)) {
+            return book.getNumCellStyles();
+        }
+    }
+
+    // --- New: Journal replay finds the recorded application when the applicant's list has changed ---
+    @Test
+    void journalReplay_severalApplications_updatesTheRecordedOne() throws Exception {
+        Path journal = Files.createTempDirectory("bto-journal").resolve("CombinedExcel.journal");
+        Application a = new Application(married30, projA, "2-Room");
+        Application b = new Application(married30, projB, "3-Room");
+        a.setStatus(Application.Status.UNSUCCESSFUL);
+        ApplicationRegistry.loadApplications(List.of(a, b));
+
+        Journal.open(journal.toString());
+        try {
+            b.setStatus(Application.Status.SUCCESSFUL);
+            Journal.recordApplication(b); // index 1, ProjB
+            Application c = new Application(married30, projA, "2-Room");
+            ApplicationRegistry.addApplication(married30.getNric(), c);
+            Journal.recordApplication(c); // index 2, a new application
+        } finally {
+            Journal.close();
+        }
+
+        // Restart from a copy whose rows came back in a different order
+        Application a2 = new Application(married30, projA, "2-Room");
+        Application b2 = new Application(married30, projB, "3-Room");
+        a2.setStatus(Application.Status.UNSUCCESSFUL);
+        ApplicationRegistry.loadApplications(List.of(b2, a2));
+        assertEquals(2, Journal.replay(journal.toString(), Map.of(married30.getNric(), married30)));
+
+        assertEquals(Application.Status.SUCCESSFUL, b2.getStatus());
+        assertEquals(Application.Status.UNSUCCESSFUL, a2.getStatus());
+        List<Application> apps = ApplicationRegistry.getApplicationByNRIC(married30.getNric());
+        assertEquals(3, apps.size());
+        assertEquals("ProjA", apps.get(2).getProject().getName());
+        assertEquals(Application.Status.PENDING, apps.get(2).getStatus());
+
+        // A record that fits several applications is skipped rather than guessed
+        Files.writeString(journal, "APP\t" + married30.getNric() + "\t0\tProjA\t2-Room\t"
+            + LocalDate.now() + "\tBOOKED\tfalse\n");
+        assertEquals(0, Journal.replay(journal.toString(), Map.of(married30.getNric(), married30)));
+        assertEquals(Application.Status.UNSUCCESSFUL, a2.getStatus());
+        assertEquals(Application.Status.PENDING, apps.get(2).getStatus());
+    }
+
+    // --- New: Filtering keeps the original order and agrees with matching each item ---
+    @Test
+    void applyFilter_keepsOrder_andMatchesEachItem() {
+        Random random = new Random(18);
+        String[] towns = {"Yishun", "BoonLay", "Tampines", "Bedok"};
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Project p = new Project("P" + i, towns[random.nextInt(towns.length)],
+                LocalDate.now(), LocalDate.now().plusDays(1), true, 1, "Mgr");
+            p.addFlatType(random.nextBoolean() ? "2-Room" : "3-Room", 1, 50_000 + random.nextInt(100_000));
+            projects.add(p);
+        }
+
+        Filter filter = new Filter();
+        filter.setNeighbourhood(Set.of("yishun", "BEDOK"));
+        filter.setFlatType("3-room");
+        filter.setMaxPrice(120_000);
+
+        List<Project> expected = projects.stream().filter(p -> p.matches(filter)).toList();
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, FilterUtil.applyFilter(projects, filter));
+        assertEquals(expected, FilterUtil.applyFilter(new java.util.LinkedHashSet<>(projects), filter));
+        assertEquals(projects, FilterUtil.applyFilter(projects, new Filter()));
+    }
+
+    // --- New: Assigning a flat books this application's reservation, never another's ---
+    @Test
+    void assignFlat_withoutOwnReservation_leavesOtherReservationsAlone() {
+        HDBManager mgr = new HDBManager("Mgr","S200009Z","pw",40,"Married");
+        mgr.addManagedProject("ProjA"); // 2 units of 2-Room
+        HDBOfficer officer = new HDBOfficer("Off","S300001A","pw",30,"Single");
+        officer.assignToProject("ProjA");
+        FlatType ft = projA.getFlatType("2-Room");
+
+        Applicant first = new Applicant("First","S100011A","pw",30,"Married");
+        Applicant second = new Applicant("Second","S100012B","pw",30,"Married");
+        Applicant unreserved = new Applicant("Unres","S100013C","pw",30,"Married");
+        ApplicationRegistry.addApplication(first.getNric(), new Application(first, projA, "2-Room"));
+        ApplicationRegistry.addApplication(second.getNric(), new Application(second, projA, "2-Room"));
+        appController.approveRejectApplication(first.getNric(), "ProjA", mgr, Application.Status.SUCCESSFUL);
+        appController.approveRejectApplication(second.getNric(), "ProjA", mgr, Application.Status.SUCCESSFUL);
+        assertEquals(2, ft.getReservedUnits());
+
+        // Marked successful without an approval, so it holds no reservation while both units are reserved
+        Application stray = new Application(unreserved, projA, "2-Room");
+        stray.setStatus(Application.Status.SUCCESSFUL);
+        ApplicationRegistry.addApplication(unreserved.getNric(), stray);
+        outContent.reset();
+        assertFalse(appController.assignFlat(officer, unreserved.getNric()));
+        assertTrue(outContent.toString().contains("Error: no unit can be booked for this application"));
+        assertEquals(Application.Status.SUCCESSFUL, stray.getStatus());
+        assertEquals(2, ft.getReservedUnits());
+        assertEquals(2, ft.getRemainingUnits());
+
+        // Both approved applicants still get the units held for them
+        assertTrue(appController.assignFlat(officer, first.getNric()));
+        assertTrue(appController.assignFlat(officer, second.getNric()));
+        assertEquals(0, ft.getReservedUnits());
+        assertEquals(0, ft.getRemainingUnits());
+        assertFalse(appController.assignFlat(officer, first.getNric()));
+    }
 }
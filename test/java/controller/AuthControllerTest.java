@@ -1,15 +1,38 @@
 // src/test/java/controller/AuthControllerTest.java
 package controller;
 
-import model.Applicant;
-import model.User;
+import main.SessionServer;
+import model.*;
 import org.junit.jupiter.api.*;
+import util.BinarySnapshot;
+import util.ExcelReader;
+import util.ExcelStreamReader;
+import util.ExcelWriter;
+import util.Journal;
+import util.PasswordWriter;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -153,4 +176,296 @@ class AuthControllerTest {
             assertTrue(printed.contains("Password changed successfully."));
         }
     }
+
+    // --- Recovery: a replayed password change reaches the workbook before the journal is compacted ---
+    @Test
+    void replayedPasswordChange_survivesCompactionAndReload() throws Exception {
+        Path dir = Files.createTempDirectory("bto-recovery");
+        Path workbook = dir.resolve("CombinedExcel.xlsx");
+        Path journal = dir.resolve("CombinedExcel.journal");
+        Files.copy(Path.of("src/data/CombinedExcel.xlsx"), workbook);
+        ExcelWriter.setFilePath(workbook.toString());
+        try {
+            // A session changes a password and stops before the workbook is written
+            Applicant changed = ExcelStreamReader.loadAllData(workbook.toString()).applicants.get(0);
+            changed.changePassword("recovered-pw");
+            Journal.open(journal.toString());
+            Journal.recordPassword(changed);
+            Journal.close();
+
+            // Restart: reload the workbook, replay, write and compact as MainApp does
+            for (Applicant a : ExcelStreamReader.loadAllData(workbook.toString()).applicants) auth.addUser(a);
+            assertEquals(1, Journal.replay(journal.toString(), auth.getAllUsers()));
+            assertTrue(PasswordWriter.flush());
+            Journal.open(journal.toString());
+            Journal.compact();
+            Journal.close();
+            assertEquals(0, Files.size(journal));
+
+            // The password now comes from the workbook alone
+            Applicant reloaded = ExcelStreamReader.loadAllData(workbook.toString()).applicants.stream()
+                .filter(a -> a.getNric().equals(changed.getNric()))
+                .findFirst().orElseThrow();
+            assertEquals("recovered-pw", reloaded.getPassword());
+        } finally {
+            ExcelWriter.setFilePath("src/data/CombinedExcel.xlsx");
+        }
+    }
+
+    // --- Snapshot: every registry survives a write and load, including data Excel does not hold ---
+    @Test
+    void binarySnapshot_roundTrip_restoresAllData() throws Exception {
+        Applicant applicant = new Applicant("App", "S400001A", "pw1", 30, "Married");
+        HDBOfficer officer = new HDBOfficer("Off", "S400002B", "pw2", 40, "Single");
+        HDBManager manager = new HDBManager("Mgr", "S400003C", "pw3", 50, "Married");
+
+        Project project = new Project("Snap Park", "Tampines", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), true, 3, "Mgr");
+        project.addFlatType("2-Room", 10, 100_000);
+        project.addFlatType("3-Room", 5, 200_000);
+        project.getFlatType("3-Room").setRemainingUnits(2);
+        project.addOfficer("Off");
+        ProjectRegistry.loadProjects(List.of(project));
+
+        Application booked = new Application(applicant, project, "3-Room");
+        booked.setApplicationDate(LocalDate.of(2025, 2, 1));
+        booked.setStatus(Application.Status.BOOKED);
+        Application withdrawing = new Application(officer, project, "2-Room");
+        withdrawing.setWithdrawalRequested(true);
+        ApplicationRegistry.loadApplications(List.of(booked, withdrawing));
+
+        Enquiry answered = new Enquiry(applicant.getNric(), "Snap Park", "When?");
+        answered.setEnquiryId(5);
+        answered.reply("Soon");
+        answered.setReplyBy("Mgr");
+        Enquiry open = new Enquiry(applicant.getNric(), "Snap Park", "Where?");
+        open.setEnquiryId(9);
+        EnquiryRegistry.loadEnquiries(List.of(answered, open));
+
+        officer.setRegistrationStatus("Snap Park", HDBOfficer.RegistrationStatus.APPROVED);
+        officer.setRegistrationStatus("Other Park", HDBOfficer.RegistrationStatus.PENDING);
+        officer.assignToProject("Snap Park");
+
+        Path snapshot = Files.createTempDirectory("bto-snapshot").resolve("CombinedExcel.snapshot");
+        assertTrue(BinarySnapshot.write(snapshot.toString(), List.of(applicant, officer, manager), 7));
+        assertEquals(7, BinarySnapshot.readGeneration(snapshot.toString()));
+
+        ExcelReader.ExcelData data = BinarySnapshot.load(snapshot.toString());
+        assertNotNull(data);
+
+        assertEquals(List.of("S400001A:App:pw1:30:Married"), data.applicants.stream().map(AuthControllerTest::describe).toList());
+        assertEquals(List.of("S400002B:Off:pw2:40:Single"), data.officers.stream().map(AuthControllerTest::describe).toList());
+        assertEquals(List.of("S400003C:Mgr:pw3:50:Married"), data.managers.stream().map(AuthControllerTest::describe).toList());
+
+        Project loaded = data.projects.get(0);
+        assertEquals(1, data.projects.size());
+        assertEquals("Tampines", loaded.getNeighborhood());
+        assertEquals(LocalDate.of(2025, 1, 1), loaded.getOpenDate());
+        assertEquals(LocalDate.of(2025, 3, 31), loaded.getCloseDate());
+        assertTrue(loaded.isVisible());
+        assertEquals(3, loaded.getMaxOfficerSlots());
+        assertEquals("Mgr", loaded.getManagerName());
+        assertEquals(List.of("Off"), loaded.getOfficerList());
+        assertEquals(10, loaded.getFlatType("2-Room").getRemainingUnits());
+        assertEquals(5, loaded.getFlatType("3-Room").getTotalUnits());
+        assertEquals(2, loaded.getFlatType("3-Room").getRemainingUnits());
+        assertEquals(200_000, loaded.getFlatType("3-Room").getPrice());
+
+        assertEquals(2, data.applications.size());
+        Application loadedBooked = data.applications.stream().filter(a -> a.getApplicant().getNric().equals("S400001A")).findFirst().orElseThrow();
+        assertSame(loaded, loadedBooked.getProject());
+        assertSame(data.applicants.get(0), loadedBooked.getApplicant());
+        assertEquals("3-Room", loadedBooked.getFlatType());
+        assertEquals(LocalDate.of(2025, 2, 1), loadedBooked.getApplicationDate());
+        assertEquals(Application.Status.BOOKED, loadedBooked.getStatus());
+        Application loadedWithdrawing = data.applications.stream().filter(a -> a.getApplicant().getNric().equals("S400002B")).findFirst().orElseThrow();
+        assertSame(data.officers.get(0), loadedWithdrawing.getApplicant());
+        assertTrue(loadedWithdrawing.isWithdrawalRequested());
+        assertEquals(Application.Status.PENDING, loadedWithdrawing.getStatus());
+
+        assertEquals(List.of("5:When?:Soon:Mgr", "9:Where?:null:null"), data.enquiries.stream()
+            .map(e -> e.getEnquiryId() + ":" + e.getContent() + ":" + e.getReply() + ":" + e.getReplyBy())
+            .toList());
+
+        HDBOfficer loadedOfficer = data.officers.get(0);
+        assertEquals(Map.of("Snap Park", HDBOfficer.RegistrationStatus.APPROVED, "Other Park", HDBOfficer.RegistrationStatus.PENDING),
+            loadedOfficer.getAllRegistrations());
+        assertEquals("Snap Park", loadedOfficer.getAssignedProject());
+    }
+
+    // --- Snapshot: a password flush after the last save does not make the snapshot look stale ---
+    @Test
+    void binarySnapshot_chosenByGeneration_notByModificationTime() throws Exception {
+        Path dir = Files.createTempDirectory("bto-generation");
+        Path workbook = dir.resolve("CombinedExcel.xlsx");
+        Path snapshot = dir.resolve("CombinedExcel.snapshot");
+        Path journal = dir.resolve("CombinedExcel.journal");
+        Files.copy(Path.of("src/data/CombinedExcel.xlsx"), workbook);
+        ExcelWriter.setFilePath(workbook.toString());
+        try {
+            ExcelReader.ExcelData data = ExcelStreamReader.loadAllData(workbook.toString());
+            ProjectRegistry.loadProjects(data.projects);
+            ApplicationRegistry.loadApplications(data.applications);
+            EnquiryRegistry.loadEnquiries(data.enquiries);
+            for (Applicant a : data.applicants) auth.addUser(a);
+            assertFalse(BinarySnapshot.isCurrent(snapshot.toString(), workbook.toString()), "No snapshot yet");
+
+            // Save generation 1: snapshot first, then the workbook, then compact the journal
+            Journal.open(journal.toString());
+            data.projects.get(0).setVisibility(!data.projects.get(0).isVisible());
+            assertTrue(BinarySnapshot.write(snapshot.toString(), auth.getAllUsers().values(), 1));
+            ExcelWriter.setGeneration(1);
+            assertTrue(ExcelWriter.saveData());
+            Journal.compact(1);
+            assertEquals(1, ExcelStreamReader.readGeneration(workbook.toString()));
+            assertTrue(BinarySnapshot.isCurrent(snapshot.toString(), workbook.toString()));
+
+            // A later password flush rewrites the workbook but keeps its generation
+            Applicant changed = data.applicants.get(0);
+            changed.changePassword("after-snapshot");
+            Journal.recordPassword(changed);
+            Journal.close();
+            Thread.sleep(20);
+            assertTrue(ExcelWriter.updateUserPasswords(List.of(changed)));
+            assertTrue(Files.getLastModifiedTime(workbook).compareTo(Files.getLastModifiedTime(snapshot)) > 0);
+            assertTrue(BinarySnapshot.isCurrent(snapshot.toString(), workbook.toString()), "Snapshot still current after a password flush");
+
+            // The journal builds on generation 1: replayed onto it, skipped onto anything later
+            AuthController restarted = new AuthController();
+            for (Applicant a : BinarySnapshot.load(snapshot.toString()).applicants) restarted.addUser(a);
+            assertEquals(0, Journal.replay(journal.toString(), restarted.getAllUsers(), 2));
+            assertEquals(1, Journal.replay(journal.toString(), restarted.getAllUsers(), 1));
+            assertEquals("after-snapshot", restarted.getUserByNRIC(changed.getNric()).getPassword());
+
+            // A workbook saved at a later generation wins over the snapshot
+            ExcelWriter.setGeneration(2);
+            data.projects.get(0).setVisibility(!data.projects.get(0).isVisible());
+            assertTrue(ExcelWriter.saveData());
+            assertFalse(BinarySnapshot.isCurrent(snapshot.toString(), workbook.toString()));
+        } finally {
+            Journal.close();
+            PasswordWriter.flush();
+            ExcelWriter.setGeneration(0);
+            ExcelWriter.setFilePath("src/data/CombinedExcel.xlsx");
+        }
+    }
+
+    // --- Sessions: concurrent sessions keep their own input and output, and stop() ends them ---
+    @Test
+    void sessionServer_concurrentSessions_areSeparate_andStopClosesThem() throws Exception {
+        InputStream stdin = System.in;
+        PrintStream stdout = System.out;
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+        Thread server = new Thread(() -> {
+            try {
+                SessionServer.serve(port, () -> {
+                    Scanner scanner = new Scanner(System.in); // routed to this session's connection
+                    System.out.print("Name: ");
+                    String name = scanner.nextLine();
+                    System.out.println("Hello " + name);
+                    while (true) {
+                        String line = scanner.nextLine();
+                        System.out.println(name + " said " + line);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        server.start();
+        try (Socket alice = connect(port); Socket bob = connect(port)) {
+            BufferedReader aliceIn = new BufferedReader(new InputStreamReader(alice.getInputStream(), StandardCharsets.UTF_8));
+            BufferedReader bobIn = new BufferedReader(new InputStreamReader(bob.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter aliceOut = new PrintWriter(alice.getOutputStream(), true, StandardCharsets.UTF_8);
+            PrintWriter bobOut = new PrintWriter(bob.getOutputStream(), true, StandardCharsets.UTF_8);
+
+            // Both sessions wait for their name at the same time
+            bobOut.println("bob");
+            aliceOut.println("alice");
+            assertEquals("Name: Hello alice", aliceIn.readLine());
+            assertEquals("Name: Hello bob", bobIn.readLine());
+            assertEquals(2, SessionServer.getActiveSessions());
+
+            // Several lines sent at once are answered one by one, each on its own connection
+            aliceOut.print("one\ntwo\n");
+            aliceOut.flush();
+            bobOut.println("three");
+            assertEquals("bob said three", bobIn.readLine());
+            assertEquals("alice said one", aliceIn.readLine());
+            assertEquals("alice said two", aliceIn.readLine());
+
+            SessionServer.stop();
+            server.join(5_000);
+            assertFalse(server.isAlive(), "serve() returns after stop()");
+            assertNull(aliceIn.readLine(), "stop() closes the open sessions");
+            assertNull(bobIn.readLine(), "stop() closes the open sessions");
+            for (int i = 0; i < 100 && SessionServer.getActiveSessions() > 0; i++) Thread.sleep(20);
+            assertEquals(0, SessionServer.getActiveSessions());
+        } finally {
+            SessionServer.stop();
+            System.setIn(stdin);
+            System.setOut(stdout);
+        }
+        assertFalse(outContent.toString().contains("said"), "session output never reaches the console");
+    }
+
+    private static Socket connect(int port) throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                socket.setSoTimeout(5_000);
+                return socket;
+            } catch (ConnectException e) {
+                if (attempt >= 100) throw e;
+                Thread.sleep(20); // the server thread has not opened the port yet
+            }
+        }
+    }
+
+    // --- Loading: the streaming reader matches the workbook reader field for field ---
+    @Test
+    void excelStreamReader_matchesExcelReader_onShippedWorkbook() {
+        String workbook = "src/data/CombinedExcel.xlsx";
+        List<String> expected = describe(ExcelReader.loadAllData(workbook));
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, describe(ExcelStreamReader.loadAllData(workbook, false, false)), "sequential");
+        assertEquals(expected, describe(ExcelStreamReader.loadAllData(workbook, true, false)), "parallel");
+    }
+
+    private static List<String> describe(ExcelReader.ExcelData data) {
+        assertNotNull(data);
+        List<String> lines = new ArrayList<>();
+        for (Applicant a : data.applicants) lines.add("applicant " + describe(a));
+        for (HDBOfficer o : data.officers) {
+            lines.add("officer " + describe(o) + ":" + o.getAssignedProject() + ":" + new TreeMap<>(o.getAllRegistrations()));
+        }
+        for (HDBManager m : data.managers) lines.add("manager " + describe(m) + ":" + m.getManagedProjects());
+        for (Project p : data.projects) {
+            StringBuilder line = new StringBuilder("project " + p.getName() + ":" + p.getNeighborhood() + ":"
+                + p.getOpenDate() + ":" + p.getCloseDate() + ":" + p.isVisible() + ":" + p.getMaxOfficerSlots() + ":"
+                + p.getCurrentOfficerSlots() + ":" + p.getManagerName() + ":" + p.getOfficerList());
+            for (FlatType ft : p.getFlatTypes().values()) {
+                line.append(" [").append(ft.getType()).append(":").append(ft.getTotalUnits()).append(":")
+                    .append(ft.getRemainingUnits()).append(":").append(ft.getPrice()).append("]");
+            }
+            lines.add(line.toString());
+        }
+        for (Application a : data.applications) {
+            String role = data.officers.contains(a.getApplicant()) ? "officer" : data.applicants.contains(a.getApplicant()) ? "applicant" : "unlinked";
+            String project = data.projects.contains(a.getProject()) ? a.getProject().getName() : "unlinked";
+            lines.add("application " + role + " " + describe(a.getApplicant()) + ":" + project + ":" + a.getFlatType() + ":"
+                + a.getApplicationDate() + ":" + a.getStatus() + ":" + a.isWithdrawalRequested());
+        }
+        for (Enquiry e : data.enquiries) {
+            lines.add("enquiry " + e.getEnquiryId() + ":" + e.getSenderNRIC() + ":" + e.getProjectName() + ":"
+                + e.getContent() + ":" + e.getReply() + ":" + e.getReplyBy());
+        }
+        return lines;
+    }
+
+    private static String describe(User user) {
+        return user.getNric() + ":" + user.getName() + ":" + user.getPassword() + ":" + user.getAge() + ":" + user.getMaritalStatus();
+    }
 }
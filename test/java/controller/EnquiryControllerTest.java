@@ -6,6 +6,8 @@ import org.junit.jupiter.api.*;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -129,4 +131,107 @@ class EnquiryControllerTest {
         assertEquals("Q1", e1.get(0).getContent());
     }
 
+    // --- New: Enquiry IDs survive deletion and reload, however large ---
+    @Test
+    void enquiryIds_stableAcrossDeleteAndReload() {
+        Enquiry low = enquiry(7, "Q7"), high = enquiry(2_000_000_000, "Qbig"), first = enquiry(3, "Q3");
+        Enquiry unnumbered = enquiry(0, "Qnew"), duplicate = enquiry(3, "Qdup");
+        EnquiryRegistry.loadEnquiries(List.of(low, high, first, unnumbered, duplicate));
+
+        assertEquals(List.of(3, 7, 2_000_000_000, 2_000_000_001, 2_000_000_002), ids(EnquiryRegistry.getAllEnquiries()));
+        assertTrue(EnquiryRegistry.hasStructuralChange(), "Reassigned IDs must be written back");
+        assertSame(high, EnquiryRegistry.getById(2_000_000_000));
+
+        assertTrue(enquiryController.deleteEnquiry(7, applicant.getNric()));
+        enquiryController.submitEnquiry(applicant.getNric(), "ProjA", "Later");
+        List<Integer> saved = ids(EnquiryRegistry.getAllEnquiries());
+        assertEquals(List.of(3, 2_000_000_000, 2_000_000_001, 2_000_000_002, 2_000_000_003), saved);
+
+        // Reload what would be saved, in a different row order
+        List<Enquiry> rows = new ArrayList<>(EnquiryRegistry.getAllEnquiries());
+        Collections.reverse(rows);
+        EnquiryRegistry.loadEnquiries(rows);
+        assertEquals(saved, ids(EnquiryRegistry.getAllEnquiries()));
+        assertFalse(EnquiryRegistry.hasStructuralChange());
+        assertNull(EnquiryRegistry.getById(7));
+        assertEquals("Later", EnquiryRegistry.getById(2_000_000_003).getContent());
+    }
+
+    // --- New: Changes made while a save runs are kept for the next save ---
+    @Test
+    void takeChanges_keepsLaterChanges_andRestoresOnFailure() {
+        enquiryController.submitEnquiry(applicant.getNric(), "ProjA", "Q1");
+        Registries.Changes<Enquiry> saving = EnquiryRegistry.takeChanges();
+        assertEquals(List.of("Q1"), saving.getItems().stream().map(Enquiry::getContent).toList());
+        assertFalse(EnquiryRegistry.hasChanges());
+
+        // Submitted after the save took its changes
+        enquiryController.submitEnquiry(applicant.getNric(), "ProjA", "Q2");
+        assertTrue(EnquiryRegistry.hasChanges(), "A change made during a save must stay unsaved");
+
+        // The save fails: both enquiries are saved next time, in change order
+        EnquiryRegistry.restoreChanges(saving);
+        Registries.Changes<Enquiry> retry = EnquiryRegistry.takeChanges();
+        assertEquals(List.of("Q1", "Q2"), retry.getItems().stream().map(Enquiry::getContent).toList());
+        assertFalse(retry.isStructural());
+        assertTrue(EnquiryRegistry.takeChanges().isEmpty());
+    }
+
+    // --- New: Enquiry lookups stay correct through many additions and deletions ---
+    @Test
+    void enquiryIds_manyAddsAndDeletes_keepLookupsAndOrder() {
+        for (int i = 0; i < 1000; i++) {
+            enquiryController.submitEnquiry(applicant.getNric(), "ProjA", "Q" + i);
+        }
+        for (int id = 2; id <= 1000; id += 2) {
+            assertTrue(EnquiryRegistry.deleteById(id, applicant.getNric()));
+        }
+        List<Integer> remaining = ids(EnquiryRegistry.getAllEnquiries());
+        assertEquals(500, remaining.size());
+        for (int i = 0; i < remaining.size(); i++) {
+            int id = 2 * i + 1;
+            assertEquals(id, (int) remaining.get(i));
+            assertEquals("Q" + (id - 1), EnquiryRegistry.getById(id).getContent());
+            assertNull(EnquiryRegistry.getById(id + 1));
+        }
+    }
+
+    // --- New: Unanswered enquiries are served oldest first ---
+    @Test
+    void unansweredProjectEnquiries_firstInFirstOut() {
+        for (int i = 1; i <= 4; i++) {
+            enquiryController.submitEnquiry(applicant.getNric(), "ProjA", "Q" + i); // IDs 1..4
+        }
+        enquiryController.submitEnquiry(applicant.getNric(), "ProjB", "Other");
+        assertEquals(List.of(1, 2, 3, 4), ids(enquiryController.getUnansweredProjectEnquiries("ProjA")));
+
+        assertTrue(enquiryController.replyToEnquiry(1, "A1", officer));
+        assertTrue(enquiryController.replyToEnquiry(3, "A3", officer));
+        assertEquals(List.of(2, 4), ids(enquiryController.getUnansweredProjectEnquiries(" proja ")));
+
+        EnquiryRegistry.getById(1).reply(""); // a cleared reply goes back to its place in line
+        assertEquals(List.of(1, 2, 4), ids(enquiryController.getUnansweredProjectEnquiries("ProjA")));
+
+        assertTrue(enquiryController.deleteEnquiry(2, applicant.getNric()));
+        enquiryController.submitEnquiry(applicant.getNric(), "ProjA", "Q6");
+        assertEquals(List.of(1, 4, 6), ids(enquiryController.getUnansweredProjectEnquiries("ProjA")));
+        assertEquals(List.of(5), ids(enquiryController.getUnansweredProjectEnquiries("ProjB")));
+
+        // Reloading rebuilds the queue in ID order whatever the row order
+        List<Enquiry> rows = new ArrayList<>(EnquiryRegistry.getAllEnquiries());
+        Collections.reverse(rows);
+        EnquiryRegistry.loadEnquiries(rows);
+        assertEquals(List.of(1, 4, 6), ids(enquiryController.getUnansweredProjectEnquiries("ProjA")));
+    }
+
+    private Enquiry enquiry(int id, String content) {
+        Enquiry e = new Enquiry(applicant.getNric(), "ProjA", content);
+        e.setEnquiryId(id);
+        return e;
+    }
+
+    private static List<Integer> ids(List<Enquiry> enquiries) {
+        return enquiries.stream().map(Enquiry::getEnquiryId).toList();
+    }
+
 }
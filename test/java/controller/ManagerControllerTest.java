@@ -3,11 +3,18 @@ package controller;
 
 import model.*;
 import org.junit.jupiter.api.*;
+import util.VisibilityScheduler;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,8 +32,10 @@ class ManagerControllerTest {
         // capture System.out
         System.setOut(new PrintStream(outContent));
 
-        // reset project registry
+        // reset project and officer registries
         ProjectRegistry.loadProjects(List.of());
+        ApplicationRegistry.loadApplications(List.of());
+        OfficerRegistry.loadOfficers(List.of());
 
         // wire up controllers
         authController    = new AuthController();
@@ -50,9 +59,27 @@ class ManagerControllerTest {
 
     @AfterEach
     void tearDown() {
+        VisibilityScheduler.stop();
         System.setOut(originalOut);
     }
 
+    /** Clock that only moves when the test moves it. */
+    private static class TestClock extends Clock {
+        private Instant now;
+
+        TestClock(LocalDate date) {
+            now = date.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        }
+
+        void advanceTo(LocalDate date) {
+            now = date.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        }
+
+        @Override public ZoneId getZone() { return ZoneId.systemDefault(); }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
     // --- Scenario 17: Create BTO Project Listings ---
     @Test
     void testCreateProject_Success() {
@@ -170,6 +197,58 @@ class ManagerControllerTest {
         assertTrue(output.contains("overlaps with these dates"),
                 "Should block creating a second project in the same period");
     }
+    // --- New: Scheduler opens and closes project windows as time passes ---
+    @Test
+    void visibilityScheduler_hidesProjectWhenWindowCloses() {
+        ProjectRegistry.addProject(testProject);
+        TestClock clock = new TestClock(LocalDate.now());
+        VisibilityScheduler.start(clock);
+
+        assertTrue(testProject.isVisible());
+        assertEquals(List.of(testProject), VisibilityScheduler.getOpenProjects());
+
+        clock.advanceTo(testProject.getCloseDate()); // last day of the window
+        VisibilityScheduler.tick();
+        assertTrue(testProject.isVisible());
+
+        clock.advanceTo(testProject.getCloseDate().plusDays(1));
+        VisibilityScheduler.tick();
+        assertFalse(testProject.isVisible());
+        assertTrue(VisibilityScheduler.getOpenProjects().isEmpty());
+    }
+
+    // --- New: Availability follows the scheduler's open windows, ticked by the caller in default mode ---
+    @Test
+    void visibilityScheduler_availabilityFollowsOpenWindows_withoutTimerThread() {
+        ProjectRegistry.addProject(testProject);
+        ApplicationController appController = new ApplicationController();
+        Applicant applicant = new Applicant("Buyer", "S2222222B", "pw", 30, "Married");
+        TestClock clock = new TestClock(testProject.getOpenDate().minusDays(3));
+        VisibilityScheduler.start(clock);
+
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .noneMatch(t -> t.getName().equals("visibility-scheduler")), "No background thread outside concurrent mode");
+        assertTrue(appController.getAllAvailableProjects(applicant).isEmpty(), "Not open yet");
+
+        clock.advanceTo(testProject.getOpenDate());
+        assertEquals(List.of(testProject), appController.getAllAvailableProjects(applicant));
+
+        clock.advanceTo(testProject.getCloseDate().plusDays(1));
+        assertTrue(appController.getAllAvailableProjects(applicant).isEmpty());
+        assertFalse(testProject.isVisible(), "The availability query ran the due close event");
+    }
+
+    // --- New: Moving the close date into the past hides the project immediately ---
+    @Test
+    void updateCloseDate_toPast_hidesProjectWithScheduler() {
+        ProjectRegistry.addProject(testProject);
+        manager.addManagedProject("TestProject");
+        VisibilityScheduler.start(new TestClock(LocalDate.now()));
+
+        assertTrue(managerController.updateCloseDate(manager, "TestProject", LocalDate.now().minusDays(1)));
+        assertFalse(testProject.isVisible());
+    }
+
     // --- New: Toggle visibility on non-existent project ---
     @Test
     void toggleVisibility_nonexistentProject_printsNotFound() {
@@ -189,4 +268,97 @@ class ManagerControllerTest {
         });
     }
 
+    // --- New: Officer registrations move between status lists as they are processed ---
+    @Test
+    void officerRegistration_registerApproveReject_updatesLists() {
+        ProjectRegistry.addProject(testProject);
+        manager.addManagedProject("TestProject");
+        manager.assignToProject("TestProject");
+        HDBOfficer first = new HDBOfficer("Officer One", "T1000001A", "pw", 30, "Single");
+        HDBOfficer second = new HDBOfficer("Officer Two", "T1000002B", "pw", 31, "Single");
+        authController.addUser(first);
+        authController.addUser(second);
+
+        OfficerController officerController = new OfficerController(new ApplicationController());
+        assertTrue(officerController.reqToHandleProject(first, "testproject"));
+        assertTrue(officerController.reqToHandleProject(second, "TestProject"));
+        assertEquals(List.of(first, second), managerController.getPendingOfficerApplications(manager));
+
+        assertTrue(managerController.processOfficerApplication(manager, first.getNric(), HDBOfficer.RegistrationStatus.APPROVED));
+        assertEquals(List.of(second), managerController.getPendingOfficerApplications(manager));
+        assertEquals(List.of(first), OfficerRegistry.getOfficers("TestProject", HDBOfficer.RegistrationStatus.APPROVED));
+
+        assertTrue(managerController.processOfficerApplication(manager, second.getNric(), HDBOfficer.RegistrationStatus.REJECTED));
+        assertTrue(managerController.getPendingOfficerApplications(manager).isEmpty());
+        assertEquals(List.of(second), OfficerRegistry.getOfficers("TestProject", HDBOfficer.RegistrationStatus.REJECTED));
+        assertFalse(managerController.processOfficerApplication(manager, first.getNric(), HDBOfficer.RegistrationStatus.REJECTED));
+
+        outContent.reset();
+        managerController.getAllOfficersByStatus();
+        String printed = outContent.toString();
+        assertTrue(printed.contains("No pending officers found."));
+        assertTrue(printed.contains("Officer One (NRIC: T1000001A) | Project: TestProject | Status: APPROVED"));
+        assertFalse(printed.contains("Officer Two"));
+    }
+
+    // --- New: Loading data replaces the officer registrations from an earlier load ---
+    @Test
+    void officerRegistry_reload_dropsEarlierOfficers() {
+        manager.assignToProject("TestProject");
+        HDBOfficer stale = new HDBOfficer("Stale", "T2000001A", "pw", 30, "Single");
+        stale.setRegistrationStatus("TestProject", HDBOfficer.RegistrationStatus.PENDING);
+        HDBOfficer reloaded = new HDBOfficer("Reloaded", "T2000001A", "pw", 30, "Single");
+        reloaded.setRegistrationStatus("TestProject", HDBOfficer.RegistrationStatus.PENDING);
+        assertEquals(List.of(stale, reloaded), managerController.getPendingOfficerApplications(manager));
+
+        OfficerRegistry.loadOfficers(List.of(reloaded));
+        assertEquals(List.of(reloaded), managerController.getPendingOfficerApplications(manager));
+        assertTrue(OfficerRegistry.getRegistrationsByStatus(HDBOfficer.RegistrationStatus.APPROVED).isEmpty());
+    }
+
+    // --- New: The window index agrees with a scan over every project ---
+    @Test
+    void projectWindowIndex_matchesBruteForceScan() {
+        Random random = new Random(21);
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LocalDate open = base.plusDays(random.nextInt(90));
+            int roll = random.nextInt(20);
+            long length = roll < 5 ? 0 : roll == 5 ? -1 - random.nextInt(3) : random.nextInt(30); // same-day and inverted windows
+            projects.add(new Project("W" + i, "Yishun", open, open.plusDays(length), true, 1, "Mgr"));
+        }
+        ProjectRegistry.loadProjects(projects);
+        assertWindowIndexMatches(projects, base);
+
+        // Move some windows and remove some projects; results keep the registration order
+        for (int i = 0; i < 40; i++) {
+            Project p = projects.get(random.nextInt(projects.size()));
+            LocalDate open = base.plusDays(random.nextInt(90));
+            p.setOpenDate(open);
+            p.setCloseDate(open.plusDays(random.nextInt(3) == 0 ? 0 : random.nextInt(30)));
+        }
+        for (int i = 0; i < 30; i++) {
+            Project removed = projects.remove(random.nextInt(projects.size()));
+            ProjectRegistry.removeProject(removed.getName());
+        }
+        assertWindowIndexMatches(projects, base);
+    }
+
+    private static void assertWindowIndexMatches(List<Project> projects, LocalDate base) {
+        for (LocalDate date = base.minusDays(2); !date.isAfter(base.plusDays(125)); date = date.plusDays(1)) {
+            LocalDate day = date;
+            List<Project> open = projects.stream()
+                .filter(p -> !p.getOpenDate().isAfter(day) && !p.getCloseDate().isBefore(day)) // both ends inclusive
+                .toList();
+            assertEquals(open, ProjectWindowIndex.getOpenOn(day), "open on " + day);
+
+            List<Project> opening = projects.stream()
+                .filter(p -> p.getOpenDate().isAfter(day))
+                .sorted(Comparator.comparing(Project::getOpenDate)) // stable, so ties keep registration order
+                .toList();
+            assertEquals(opening, ProjectWindowIndex.getOpeningAfter(day), "opening after " + day);
+        }
+    }
+
 }